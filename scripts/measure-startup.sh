@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# Measures JVM/native startup and time to the first successful /api/navigate for one build variant.
+# Usage: scripts/measure-startup.sh <jar|appcds|native> <from> <to> [campus]
+# Build first: ./mvnw package, ./mvnw -Pappcds clean package, or ./mvnw -Pnative native:compile
+# Runs RUNS times (default 5) and prints each run plus a README table row with the medians.
+set -euo pipefail
+
+variant="$1"
+from="$2"
+to="$3"
+campus="${4:-deemed}"
+port="${PORT:-8080}"
+runs="${RUNS:-5}"
+target="$(dirname "$0")/../target"
+
+case "$variant" in
+    jar)    cmd=(java -jar "$target"/campus-0.0.1-SNAPSHOT.jar) ;;
+    appcds) cmd=(java -XX:SharedArchiveFile="$target"/campus.jsa -jar "$target"/campus-0.0.1-SNAPSHOT.jar) ;;
+    native) cmd=("$target"/campus) ;;
+    *) echo "Unknown variant: $variant" >&2; exit 1 ;;
+esac
+
+url="http://localhost:$port/api/navigate?from=$(printf %s "$from" | jq -sRr @uri)&to=$(printf %s "$to" | jq -sRr @uri)&algorithm=dijkstra&campus=$campus"
+log="$(mktemp)"
+pid=""
+trap 'if [ -n "$pid" ]; then kill $pid 2>/dev/null || true; fi; rm -f "$log"' EXIT
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+startups=()
+first_routes=()
+for run in $(seq 1 "$runs"); do
+    started=$(date +%s%N)
+    "${cmd[@]}" --server.port="$port" >"$log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$url"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited, see log:" >&2
+            cat "$log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    first_route=$(( ($(date +%s%N) - started) / 1000000 ))
+    startup=$(grep -o 'Started CampusNavApplication in [0-9.]* seconds' "$log" | grep -o '[0-9.]*' | head -1 || true)
+    kill "$pid" && wait "$pid" 2>/dev/null || true
+    pid=""
+    echo "run $run: started in ${startup:-?} s, first successful /api/navigate after ${first_route} ms"
+    startups+=("${startup:-0}")
+    first_routes+=("$first_route")
+done
+
+echo "| $variant | $(printf '%s\n' "${startups[@]}" | median) | $(printf '%s\n' "${first_routes[@]}" | median) | $runs |"
@@ -1,9 +1,14 @@
 package com.campusnavai.campus;
 
+import com.campusnavai.campus.config.CampusRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(CampusRuntimeHints.class)
 public class CampusNavApplication {
     public static void main(String[] args) {
         SpringApplication.run(CampusNavApplication.class, args);
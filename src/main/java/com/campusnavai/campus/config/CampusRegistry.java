@@ -0,0 +1,92 @@
+package com.campusnavai.campus.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Campuses known to the application, bound from {@code campusnav.campuses.<name>.*} properties.
+ * Table names end up in SQL, so they are restricted to plain identifiers.
+ */
+@Component
+@ConfigurationProperties(prefix = "campusnav")
+public class CampusRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(CampusRegistry.class);
+    // Short enough that the change tracking trigger names stay within MySQL's 64 characters
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]{0,46}");
+
+    private Map<String, CampusDefinition> campuses = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void validate() {
+        Map<String, CampusDefinition> normalized = new LinkedHashMap<>();
+        campuses.forEach((name, definition) -> {
+            if (!TABLE_NAME.matcher(definition.getNodeTable() == null ? "" : definition.getNodeTable()).matches()
+                    || !TABLE_NAME.matcher(definition.getEdgeTable() == null ? "" : definition.getEdgeTable()).matches()) {
+                throw new IllegalStateException("Invalid table names configured for campus " + name);
+            }
+            normalized.put(name.toLowerCase(), definition);
+        });
+        campuses = normalized;
+        logger.info("Registered {} campuses: {}", campuses.size(), campuses.keySet());
+    }
+
+    public boolean contains(String campus) {
+        return campus != null && campuses.containsKey(campus.toLowerCase());
+    }
+
+    public CampusDefinition get(String campus) {
+        CampusDefinition definition = campus == null ? null : campuses.get(campus.toLowerCase());
+        if (definition == null) {
+            throw new IllegalArgumentException("Invalid campus: " + campus);
+        }
+        return definition;
+    }
+
+    public Set<String> getCampusNames() {
+        return Collections.unmodifiableSet(campuses.keySet());
+    }
+
+    public Map<String, CampusDefinition> getCampuses() {
+        return campuses;
+    }
+
+    public void setCampuses(Map<String, CampusDefinition> campuses) {
+        this.campuses = campuses;
+    }
+
+    public static class CampusDefinition {
+        private String nodeTable;
+        private String edgeTable;
+        private boolean preload;
+
+        public String getNodeTable() {
+            return nodeTable;
+        }
+
+        public String getEdgeTable() {
+            return edgeTable;
+        }
+
+        public boolean isPreload() {
+            return preload;
+        }
+
+        public void setNodeTable(String nodeTable) {
+            this.nodeTable = nodeTable;
+        }
+
+        public void setEdgeTable(String edgeTable) {
+            this.edgeTable = edgeTable;
+        }
+
+        public void setPreload(boolean preload) {
+            this.preload = preload;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.campusnavai.campus.config;
+
+import com.campusnavai.campus.controller.NavigationController;
+import com.campusnavai.campus.entity.Edge;
+import com.campusnavai.campus.entity.Node;
+import com.campusnavai.campus.service.GraphService;
+import com.campusnavai.campus.service.NavigationSessionService;
+import com.campusnavai.campus.service.RouteProfile;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Native image hints that AOT processing cannot infer: JSON types returned through
+ * {@code ResponseEntity<?>}, the entities mapped from JdbcTemplate rows, and the static site.
+ */
+public class CampusRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        MemberCategory[] beanAccess = {
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS,
+                MemberCategory.DECLARED_FIELDS
+        };
+        hints.reflection()
+                .registerType(Node.class, beanAccess)
+                .registerType(Edge.class, beanAccess)
+                .registerType(RouteProfile.class, beanAccess)
+                .registerType(NavigationController.ExplainedRoute.class, beanAccess)
+                .registerType(GraphService.GraphMemory.class, beanAccess)
+                .registerType(GraphService.ParetoRoutes.class, beanAccess)
+                .registerType(GraphService.ParetoRouteView.class, beanAccess)
+                .registerType(NavigationSessionService.SessionStart.class, beanAccess)
+                .registerType(NavigationSessionService.RouteUpdate.class, beanAccess);
+        hints.resources()
+                .registerPattern("static/*.html")
+                .registerPattern("static/css/*")
+                .registerPattern("static/js/*")
+                .registerPattern("static/images/**");
+    }
+}
@@ -1,7 +1,9 @@
 package com.campusnavai.campus.controller;
 
+import com.campusnavai.campus.config.CampusRegistry;
 import com.campusnavai.campus.entity.Node;
 import com.campusnavai.campus.service.GraphService;
+import com.campusnavai.campus.service.RouteProfile;
 import com.campusnavai.campus.repository.DatabaseAccess;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +15,7 @@ import java.util.stream.Collectors;
 @RestController
 @RequestMapping("/api")
 public class NavigationController {
+    private static final int MAX_SUGGESTIONS = 50;
 
     @Autowired
     private GraphService graphService;
@@ -20,43 +23,66 @@ public class NavigationController {
     @Autowired
     private DatabaseAccess databaseAccess;
 
+    @Autowired
+    private CampusRegistry campusRegistry;
+
     // Debug: Confirm controller is initialized
     public NavigationController() {
         System.out.println("NavigationController initialized");
     }
 
     @GetMapping("/navigate")
-    public ResponseEntity<List<String>> navigate(
+    public ResponseEntity<?> navigate(
             @RequestParam String from,
             @RequestParam String to,
             @RequestParam(defaultValue = "bfs") String algorithm,
-            @RequestParam(defaultValue = "deemed") String campus) {
+            @RequestParam(defaultValue = "deemed") String campus,
+            @RequestParam(defaultValue = "false") boolean explain) {
         System.out.println("Received request for /api/navigate with params: from=" + from + ", to=" + to + ", algorithm=" + algorithm + ", campus=" + campus);
         try {
             if (!algorithm.equalsIgnoreCase("bfs") && !algorithm.equalsIgnoreCase("dijkstra")) {
                 return ResponseEntity.badRequest().body(List.of("Invalid algorithm. Use 'bfs' or 'dijkstra'."));
             }
-            if (!campus.equalsIgnoreCase("deemed") && !campus.equalsIgnoreCase("hill") && !campus.equalsIgnoreCase("outer")) {
-                return ResponseEntity.badRequest().body(List.of("Invalid campus. Use 'deemed', 'hill', or 'outer'."));
+            if (!campusRegistry.contains(campus)) {
+                return ResponseEntity.badRequest().body(List.of(invalidCampusMessage()));
             }
-            List<Node> path = graphService.findShortestPath(from, to, algorithm, campus);
+            RouteProfile profile = explain ? new RouteProfile() : null;
+            List<Node> path = graphService.findShortestPath(from, to, algorithm, campus, profile);
             List<String> pathNames = path.stream()
                     .map(Node::getName)
                     .collect(Collectors.toList());
+            if (explain) {
+                return ResponseEntity.ok(new ExplainedRoute(pathNames, profile));
+            }
             return ResponseEntity.ok(pathNames);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(List.of(e.getMessage()));
         }
     }
 
+    @GetMapping("/navigate/pareto")
+    public ResponseEntity<?> navigatePareto(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "hill") String campus) {
+        try {
+            if (!campusRegistry.contains(campus)) {
+                return ResponseEntity.badRequest().body(List.of(invalidCampusMessage()));
+            }
+            return ResponseEntity.ok(graphService.findParetoRoutes(from, to, campus));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(List.of(e.getMessage()));
+        }
+    }
+
     @GetMapping("/nodes")
     public ResponseEntity<List<String>> getNodes(@RequestParam String campus) {
         System.out.println("=== /api/nodes Request ===");
         System.out.println("Requested campus: " + campus);
         try {
-            if (!campus.equalsIgnoreCase("deemed") && !campus.equalsIgnoreCase("hill") && !campus.equalsIgnoreCase("outer")) {
+            if (!campusRegistry.contains(campus)) {
                 System.out.println("Invalid campus name: " + campus);
-                return ResponseEntity.badRequest().body(List.of("Invalid campus. Use 'deemed', 'hill', or 'outer'."));
+                return ResponseEntity.badRequest().body(List.of(invalidCampusMessage()));
             }
             List<Node> nodes = databaseAccess.findAllNodes(campus);
             System.out.println("Found " + nodes.size() + " nodes for campus: " + campus);
@@ -75,4 +101,30 @@ public class NavigationController {
             return ResponseEntity.badRequest().body(List.of("An unexpected error occurred"));
         }
     }
+
+    @GetMapping("/nodes/suggest")
+    public ResponseEntity<List<String>> suggestNodes(
+            @RequestParam String campus,
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (!campusRegistry.contains(campus)) {
+            return ResponseEntity.badRequest().body(List.of(invalidCampusMessage()));
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            return ResponseEntity.badRequest().body(List.of("Invalid limit. Use a value between 1 and " + MAX_SUGGESTIONS + "."));
+        }
+        return ResponseEntity.ok(graphService.suggestNodes(campus, q, limit));
+    }
+
+    @GetMapping("/graphs/memory")
+    public ResponseEntity<List<GraphService.GraphMemory>> getGraphMemory() {
+        return ResponseEntity.ok(graphService.getMemoryReport());
+    }
+
+    public record ExplainedRoute(List<String> path, RouteProfile profile) {
+    }
+
+    private String invalidCampusMessage() {
+        return "Invalid campus. Use one of: " + String.join(", ", campusRegistry.getCampusNames()) + ".";
+    }
 }
\ No newline at end of file
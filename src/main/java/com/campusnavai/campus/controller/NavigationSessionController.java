@@ -0,0 +1,74 @@
+package com.campusnavai.campus.controller;
+
+import com.campusnavai.campus.service.NavigationSessionService;
+import com.campusnavai.campus.service.NavigationSessionService.RouteUpdate;
+import com.campusnavai.campus.service.NavigationSessionService.SessionStart;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+@RestController
+@RequestMapping("/api/sessions")
+public class NavigationSessionController {
+
+    @Autowired
+    private NavigationSessionService sessionService;
+
+    @PostMapping
+    public ResponseEntity<?> start(
+            @RequestParam String campus,
+            @RequestParam String to,
+            @RequestParam(required = false) String from) {
+        try {
+            SessionStart start = sessionService.start(campus, to, from);
+            return ResponseEntity.ok(start);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(List.of(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(List.of(e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/{sessionId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events(@PathVariable String sessionId) {
+        try {
+            return ResponseEntity.ok(sessionService.subscribe(sessionId));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            // Reloading an evicted or rebuilt campus graph failed
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @PostMapping("/{sessionId}/position")
+    public ResponseEntity<?> position(
+            @PathVariable String sessionId,
+            @RequestParam(required = false) String node,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng) {
+        try {
+            RouteUpdate update = sessionService.updatePosition(sessionId, node, lat, lng);
+            return ResponseEntity.ok(update);
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(List.of(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(List.of(e.getMessage()));
+        } catch (IllegalStateException e) {
+            // Reloading an evicted or rebuilt campus graph failed
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(List.of(e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> end(@PathVariable String sessionId) {
+        sessionService.end(sessionId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -3,10 +3,16 @@ package com.campusnavai.campus.entity;
 public class WeightedEdge {
     private final Node target;
     private final double weight;
+    private final double climb;
 
     public WeightedEdge(Node target, double weight) {
+        this(target, weight, 0);
+    }
+
+    public WeightedEdge(Node target, double weight, double climb) {
         this.target = target;
         this.weight = weight;
+        this.climb = climb;
     }
 
     public Node getTarget() {
@@ -16,4 +22,8 @@ public class WeightedEdge {
     public double getWeight() {
         return weight;
     }
+
+    public double getClimb() {
+        return climb;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.campusnavai.campus.repository;
 
+import com.campusnavai.campus.config.CampusRegistry;
 import com.campusnavai.campus.entity.Edge;
 import com.campusnavai.campus.entity.Node;
 import org.slf4j.Logger;
@@ -12,14 +13,22 @@ import org.springframework.stereotype.Repository;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Repository
 public class DatabaseAccess {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseAccess.class);
+    private static final String CHANGE_LOG_TABLE = "graph_change_log";
 
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private CampusRegistry campusRegistry;
+
+    // Tables already reported as falling back to checksums, so the notice is logged once
+    private final Set<String> checksumTables = ConcurrentHashMap.newKeySet();
+
     public List<Node> findAllNodes(String campus) {
         try {
             String tableName = getNodeTableName(campus);
@@ -73,6 +82,116 @@ public class DatabaseAccess {
         }
     }
 
+    /**
+     * Returns a change signature for the node and edge tables of a campus. Each table contributes
+     * its max primary key (an index lookup) and its row in {@code graph_change_log}, which the
+     * triggers from {@code db/graph_change_log_v1.sql} bump on every insert, update and delete.
+     * A table without a change log row falls back to {@code CHECKSUM TABLE}, so in-place edits
+     * such as changed weights are still seen. Only reads; never changes the schema.
+     */
+    public CampusSignature findCampusSignature(String campus) {
+        try {
+            return new CampusSignature(
+                    readTableSignature(getNodeTableName(campus), "node_id"),
+                    readTableSignature(getEdgeTableName(campus), "edge_id"));
+        } catch (DataAccessException e) {
+            throw new RuntimeException("Failed to read change signature for campus " + campus + ": " + e.getMessage(), e);
+        }
+    }
+
+    private TableSignature readTableSignature(String tableName, String idColumn) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + tableName, Long.class);
+        Long version = readChangeLogVersion(tableName);
+        long checksum = version == null ? readChecksum(tableName) : -1;
+        return new TableSignature(maxId == null ? 0 : maxId, version == null ? -1 : version, checksum);
+    }
+
+    /** The table's change log version, or null when the table is not tracked or the log is missing. */
+    private Long readChangeLogVersion(String tableName) {
+        try {
+            List<Long> versions = jdbcTemplate.queryForList(
+                    "SELECT version FROM " + CHANGE_LOG_TABLE + " WHERE table_name = ?", Long.class, tableName);
+            if (!versions.isEmpty()) {
+                return versions.get(0);
+            }
+        } catch (DataAccessException e) {
+            logger.debug("Change log not readable for table {}: {}", tableName, e.getMessage());
+        }
+        if (checksumTables.add(tableName)) {
+            logger.info("Table {} has no {} row, watching it with CHECKSUM TABLE; apply db/graph_change_log_v1.sql to avoid the scan",
+                    tableName, CHANGE_LOG_TABLE);
+        }
+        return null;
+    }
+
+    /**
+     * Live checksum where the engine keeps one (QUICK), otherwise a full checksum, which scans the
+     * table but catches updates and deletes that leave the max id unchanged.
+     */
+    private long readChecksum(String tableName) {
+        Long quick = queryChecksum("CHECKSUM TABLE " + tableName + " QUICK");
+        if (quick != null) {
+            return quick;
+        }
+        Long full = queryChecksum("CHECKSUM TABLE " + tableName);
+        if (full == null) {
+            throw new IllegalStateException("CHECKSUM TABLE returned no checksum for " + tableName);
+        }
+        return full;
+    }
+
+    private Long queryChecksum(String sql) {
+        return jdbcTemplate.query(sql, rs -> {
+            if (!rs.next()) {
+                return null;
+            }
+            long checksum = rs.getLong("Checksum");
+            return rs.wasNull() ? null : checksum;
+        });
+    }
+
+    /**
+     * Creates the change log table, the seed rows and the insert/update/delete triggers for a
+     * campus, mirroring {@code db/graph_change_log_v1.sql}. Only called when
+     * {@code campusnav.watch.install-triggers} is enabled; failures such as a missing TRIGGER
+     * privilege are logged and the tables stay on checksum detection.
+     */
+    public void installChangeTracking(String campus) {
+        for (String tableName : List.of(getNodeTableName(campus), getEdgeTableName(campus))) {
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + CHANGE_LOG_TABLE
+                        + " (table_name VARCHAR(64) PRIMARY KEY, version BIGINT NOT NULL DEFAULT 0)");
+                jdbcTemplate.update("INSERT IGNORE INTO " + CHANGE_LOG_TABLE + " (table_name, version) VALUES (?, 0)", tableName);
+                for (String event : new String[]{"INSERT", "UPDATE", "DELETE"}) {
+                    String triggerName = "campusnav_" + tableName + "_" + event.toLowerCase();
+                    Integer existing = jdbcTemplate.queryForObject(
+                            "SELECT COUNT(*) FROM information_schema.TRIGGERS WHERE TRIGGER_SCHEMA = DATABASE() AND TRIGGER_NAME = ?",
+                            Integer.class, triggerName);
+                    if (existing != null && existing > 0) {
+                        continue;
+                    }
+                    jdbcTemplate.execute("CREATE TRIGGER " + triggerName + " AFTER " + event + " ON " + tableName
+                            + " FOR EACH ROW UPDATE " + CHANGE_LOG_TABLE + " SET version = version + 1 WHERE table_name = '"
+                            + tableName + "'");
+                    logger.info("Installed change tracking trigger {}", triggerName);
+                }
+            } catch (DataAccessException e) {
+                logger.warn("Could not install change tracking for table {}, it stays on CHECKSUM TABLE detection: {}",
+                        tableName, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Version is -1 when the table has no change log row; checksum is -1 unless the table fell
+     * back to {@code CHECKSUM TABLE}.
+     */
+    public record TableSignature(long maxId, long version, long checksum) {
+    }
+
+    public record CampusSignature(TableSignature nodes, TableSignature edges) {
+    }
+
     private Node mapRowToNode(ResultSet rs) throws SQLException {
         Node node = new Node();
         node.setNodeId(rs.getLong("node_id"));
@@ -87,20 +206,10 @@ public class DatabaseAccess {
     }
 
     private String getNodeTableName(String campus) {
-        return switch (campus.toLowerCase()) {
-            case "deemed" -> "nodes";
-            case "hill" -> "nodes_hill";
-            case "outer" -> "nodes_outer";
-            default -> throw new IllegalArgumentException("Invalid campus: " + campus);
-        };
+        return campusRegistry.get(campus).getNodeTable();
     }
 
     private String getEdgeTableName(String campus) {
-        return switch (campus.toLowerCase()) {
-            case "deemed" -> "edges";
-            case "hill" -> "edges_hill";
-            case "outer" -> "edges_outer";
-            default -> throw new IllegalArgumentException("Invalid campus: " + campus);
-        };
+        return campusRegistry.get(campus).getEdgeTable();
     }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.campusnavai.campus.service;
+
+import com.campusnavai.campus.entity.Node;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * All-pairs shortest distances and next hops for a small campus, so a weighted route is read off
+ * in O(path length) instead of searched.
+ *
+ * <p>Rows are filled by one Dijkstra per source, run in parallel on the given pool; each task
+ * writes only its own row. Distances are floats and next hops are shorts, so a table costs six
+ * bytes per node pair; campuses above {@value #MAX_NODES} nodes are refused.
+ */
+public class AllPairsTable {
+    /** Largest campus a table is built for: 4096 nodes is about 96 MB. */
+    public static final int MAX_NODES = 4096;
+    public static final int BYTES_PER_PAIR = Float.BYTES + Short.BYTES;
+    private static final int NO_HOP = -1;
+
+    private final CompactGraph graph;
+    private final int size;
+    private final float[] distances;
+    private final short[] nextHops;
+
+    private AllPairsTable(CompactGraph graph, float[] distances, short[] nextHops) {
+        this.graph = graph;
+        this.size = graph.size();
+        this.distances = distances;
+        this.nextHops = nextHops;
+    }
+
+    /** Estimated heap cost of a table for {@code nodes} nodes. */
+    public static long estimateBytes(int nodes) {
+        return (long) nodes * nodes * BYTES_PER_PAIR;
+    }
+
+    public static AllPairsTable build(CompactGraph graph, ForkJoinPool pool) {
+        int n = graph.size();
+        if (n > MAX_NODES) {
+            throw new IllegalArgumentException("All-pairs table supports at most " + MAX_NODES + " nodes, got " + n);
+        }
+        float[] distances = new float[n * n];
+        short[] nextHops = new short[n * n];
+        pool.submit(() -> IntStream.range(0, n).parallel().forEach(source -> {
+            int[] firstHops = searchFrom(graph, source, distances);
+            int row = source * n;
+            for (int target = 0; target < n; target++) {
+                nextHops[row + target] = (short) firstHops[target];
+            }
+        })).join();
+        return new AllPairsTable(graph, distances, nextHops);
+    }
+
+    /**
+     * Dijkstra from one source that fills its distance row and returns, for every target, the
+     * first node after the source on the shortest path.
+     */
+    private static int[] searchFrom(CompactGraph graph, int source, float[] distances) {
+        int n = graph.size();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        double[] dist = new double[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        int[] firstHops = new int[n];
+        Arrays.fill(firstHops, NO_HOP);
+        boolean[] settled = new boolean[n];
+        NodeHeap heap = new NodeHeap(Math.max(16, n));
+        dist[source] = 0;
+        firstHops[source] = source;
+        heap.push(0, source);
+        while (!heap.isEmpty()) {
+            int current = heap.pop();
+            if (settled[current]) continue;
+            settled[current] = true;
+            for (int slot = offsets[current]; slot < offsets[current + 1]; slot++) {
+                int neighbor = targets[slot];
+                double candidate = dist[current] + weights[slot];
+                if (candidate < dist[neighbor]) {
+                    dist[neighbor] = candidate;
+                    firstHops[neighbor] = current == source ? neighbor : firstHops[current];
+                    heap.push(candidate, neighbor);
+                }
+            }
+        }
+        int row = source * n;
+        for (int target = 0; target < n; target++) {
+            distances[row + target] = (float) dist[target];
+        }
+        return firstHops;
+    }
+
+    public boolean contains(Node node) {
+        return graph.indexOf(node) >= 0;
+    }
+
+    public int getNodeCount() {
+        return size;
+    }
+
+    public float distance(Node from, Node to) {
+        return distances[graph.indexOf(from) * size + graph.indexOf(to)];
+    }
+
+    /** Follows next hops from {@code from} to {@code to}; throws when the two are disconnected. */
+    public List<Node> path(Node from, Node to) {
+        int current = graph.indexOf(from);
+        int target = graph.indexOf(to);
+        if (nextHop(current, target) == NO_HOP) {
+            throw new IllegalArgumentException("No path exists between " + from.getName() + " and " + to.getName());
+        }
+        List<Node> path = new ArrayList<>();
+        path.add(graph.node(current));
+        while (current != target) {
+            current = nextHop(current, target);
+            path.add(graph.node(current));
+        }
+        return path;
+    }
+
+    private int nextHop(int from, int to) {
+        return nextHops[from * size + to];
+    }
+
+    public long getEstimatedBytes() {
+        return estimateBytes(size);
+    }
+}
@@ -0,0 +1,102 @@
+package com.campusnavai.campus.service;
+
+import com.campusnavai.campus.config.CampusRegistry;
+import com.campusnavai.campus.repository.DatabaseAccess;
+import com.campusnavai.campus.repository.DatabaseAccess.CampusSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Polls a cheap per-campus signature of the node and edge tables and rebuilds only the campus
+ * graphs whose tables changed since they were built. A change is applied once the signature has
+ * been stable for the debounce window, so a burst of edits results in a single rebuild. Only
+ * loaded campuses are watched; the rest are read fresh when first requested. With
+ * {@code install-triggers} enabled, the first poll installs the change log triggers, on the
+ * scheduler thread rather than a request thread.
+ */
+@Service
+public class CampusChangeWatcher {
+    private static final Logger logger = LoggerFactory.getLogger(CampusChangeWatcher.class);
+
+    @Autowired
+    private DatabaseAccess databaseAccess;
+
+    @Autowired
+    private GraphService graphService;
+
+    @Autowired
+    private CampusRegistry campusRegistry;
+
+    @Value("${campusnav.watch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${campusnav.watch.debounce-ms:5000}")
+    private long debounceMs;
+
+    @Value("${campusnav.watch.install-triggers:false}")
+    private boolean installTriggers;
+
+    private volatile boolean triggersInstalled;
+
+    private final Map<String, PendingChange> pendingChanges = new ConcurrentHashMap<>();
+
+    @Scheduled(initialDelayString = "${campusnav.watch.interval-ms:10000}", fixedDelayString = "${campusnav.watch.interval-ms:10000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        if (installTriggers && !triggersInstalled) {
+            for (String campus : campusRegistry.getCampusNames()) {
+                databaseAccess.installChangeTracking(campus);
+            }
+            triggersInstalled = true;
+        }
+        long now = System.currentTimeMillis();
+        Set<String> loaded = graphService.getLoadedCampuses();
+        pendingChanges.keySet().retainAll(loaded);
+        for (String campus : loaded) {
+            try {
+                checkCampus(campus, now);
+            } catch (Exception e) {
+                logger.warn("Change check failed for campus {}: {}", campus, e.getMessage());
+            }
+        }
+    }
+
+    private void checkCampus(String campus, long now) {
+        CampusGraph graph = graphService.peekGraph(campus);
+        if (graph == null) {
+            pendingChanges.remove(campus);
+            return;
+        }
+        CampusSignature current = databaseAccess.findCampusSignature(campus);
+        // Compare with the state the loaded graph was built from; a null signature means it is unknown
+        if (current.equals(graph.getSignature())) {
+            pendingChanges.remove(campus);
+            return;
+        }
+        PendingChange pending = pendingChanges.get(campus);
+        if (pending == null || !Objects.equals(pending.signature(), current)) {
+            logger.info("Detected change in tables for campus {}, waiting {} ms before rebuilding", campus, debounceMs);
+            pendingChanges.put(campus, new PendingChange(current, now));
+            return;
+        }
+        if (now - pending.lastChangedAt() < debounceMs) {
+            return;
+        }
+        graphService.rebuildGraph(campus);
+        pendingChanges.remove(campus);
+    }
+
+    private record PendingChange(CampusSignature signature, long lastChangedAt) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.campusnavai.campus.service;
+
+import com.campusnavai.campus.entity.Node;
+import com.campusnavai.campus.entity.WeightedEdge;
+import com.campusnavai.campus.repository.DatabaseAccess.CampusSignature;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, fully built graph for one campus plus the bookkeeping GraphService needs to
+ * evict it when the heap budget is exceeded. Shortest-path trees for live navigation sessions
+ * are cached here per destination, so they are shared by sessions and dropped with the graph.
+ */
+public class CampusGraph {
+    // Rough per-object costs on a 64-bit JVM with compressed oops
+    private static final long BYTES_PER_NODE = 256;
+    private static final long BYTES_PER_ADJACENCY_ENTRY = 40;
+    // Trie slots and top lists for the suggest index, per node name
+    private static final long BYTES_PER_SUGGEST_NODE = 192;
+    private static final int MAX_CACHED_TREES = 256;
+
+    private final String campus;
+    private final Map<Node, List<WeightedEdge>> adjacency;
+    private final CompactGraph compact;
+    private final NodeSuggestIndex suggestIndex;
+    private final AllPairsTable allPairs;
+    private final CampusSignature signature;
+    private final long estimatedBytes;
+    // Access-ordered, so the least recently used destination is dropped first
+    private final Map<Integer, ShortestPathTree> trees = new LinkedHashMap<>(16, 0.75f, true);
+    private volatile long treeBytes;
+    private volatile long lastAccessedAt;
+
+    public CampusGraph(String campus, Map<Node, List<WeightedEdge>> adjacency, CompactGraph compact,
+                       NodeSuggestIndex suggestIndex, AllPairsTable allPairs, CampusSignature signature) {
+        this.campus = campus;
+        this.adjacency = adjacency;
+        this.compact = compact;
+        this.suggestIndex = suggestIndex;
+        this.allPairs = allPairs;
+        this.signature = signature;
+        long entries = 0;
+        for (List<WeightedEdge> edges : adjacency.values()) {
+            entries += edges.size();
+        }
+        this.estimatedBytes = adjacency.size() * BYTES_PER_NODE + entries * BYTES_PER_ADJACENCY_ENTRY
+                + adjacency.size() * BYTES_PER_SUGGEST_NODE
+                + compact.getEstimatedBytes()
+                + (allPairs == null ? 0 : allPairs.getEstimatedBytes());
+        this.lastAccessedAt = System.nanoTime();
+    }
+
+    public String getCampus() {
+        return campus;
+    }
+
+    public Map<Node, List<WeightedEdge>> getAdjacency() {
+        return adjacency;
+    }
+
+    public CompactGraph getCompact() {
+        return compact;
+    }
+
+    public NodeSuggestIndex getSuggestIndex() {
+        return suggestIndex;
+    }
+
+    /** Precomputed all-pairs routes, or null when the campus is above the size threshold. */
+    public AllPairsTable getAllPairs() {
+        return allPairs;
+    }
+
+    /**
+     * Table signature read just before this graph was built, or null if it could not be read.
+     * Any later change to the tables shows up as a different signature.
+     */
+    public CampusSignature getSignature() {
+        return signature;
+    }
+
+    /** Shortest-path tree toward a destination index, built on first use and shared afterwards. */
+    ShortestPathTree treeToward(int destination) {
+        synchronized (trees) {
+            ShortestPathTree tree = trees.get(destination);
+            if (tree != null) {
+                return tree;
+            }
+        }
+        ShortestPathTree built = ShortestPathTree.toward(compact, destination);
+        synchronized (trees) {
+            ShortestPathTree existing = trees.putIfAbsent(destination, built);
+            if (existing != null) {
+                return existing;
+            }
+            long bytes = treeBytes + built.getEstimatedBytes();
+            if (trees.size() > MAX_CACHED_TREES) {
+                Iterator<ShortestPathTree> eldest = trees.values().iterator();
+                bytes -= eldest.next().getEstimatedBytes();
+                eldest.remove();
+            }
+            treeBytes = bytes;
+            return built;
+        }
+    }
+
+    /** Estimated heap held by this graph, including the cached shortest-path trees. */
+    public long getEstimatedBytes() {
+        return estimatedBytes + treeBytes;
+    }
+
+    public long getLastAccessedAt() {
+        return lastAccessedAt;
+    }
+
+    public void touch() {
+        lastAccessedAt = System.nanoTime();
+    }
+}
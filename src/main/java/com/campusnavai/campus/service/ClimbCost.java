@@ -0,0 +1,52 @@
+package com.campusnavai.campus.service;
+
+import com.campusnavai.campus.entity.Edge;
+import com.campusnavai.campus.entity.Node;
+
+import java.util.Locale;
+
+/**
+ * Derives the second routing cost, how much climbing an edge involves, from the attributes the
+ * schema already has: the edge description and the endpoint node types. Stairs count the full
+ * edge length, slopes half of it, and lifts or ramps nothing.
+ */
+final class ClimbCost {
+    private static final String[] STAIR_WORDS = {"stair", "steps"};
+    private static final String[] SLOPE_WORDS = {"slope", "steep", "uphill", "downhill", "climb"};
+    private static final String[] LEVEL_WORDS = {"lift", "elevator", "ramp"};
+
+    private ClimbCost() {
+    }
+
+    static double of(Edge edge) {
+        String description = lower(edge.getDescription());
+        double length = edge.getWeight();
+        if (containsAny(description, LEVEL_WORDS)) {
+            return 0;
+        }
+        if (containsAny(description, STAIR_WORDS) || isStairs(edge.getFromNode()) || isStairs(edge.getToNode())) {
+            return length;
+        }
+        if (containsAny(description, SLOPE_WORDS)) {
+            return length * 0.5;
+        }
+        return 0;
+    }
+
+    private static boolean isStairs(Node node) {
+        return node != null && containsAny(lower(node.getType()), STAIR_WORDS);
+    }
+
+    private static String lower(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean containsAny(String text, String[] words) {
+        for (String word : words) {
+            if (text.contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,125 @@
+package com.campusnavai.campus.service;
+
+import com.campusnavai.campus.entity.Node;
+import com.campusnavai.campus.entity.WeightedEdge;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index-based copy of a campus adjacency map: nodes are numbered 0..n-1 and edges are stored in
+ * compressed sparse row form, so searches that run many times per graph (all-pairs tables,
+ * re-routing trees) work on primitive arrays instead of hashing Node objects.
+ */
+public class CompactGraph {
+    private final Node[] nodes;
+    private final Map<Node, Integer> indexOf;
+    private final Map<String, Integer> indexByName;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final float[] climbs;
+
+    private CompactGraph(Node[] nodes, Map<Node, Integer> indexOf, Map<String, Integer> indexByName,
+                         int[] offsets, int[] targets, double[] weights, float[] climbs) {
+        this.nodes = nodes;
+        this.indexOf = indexOf;
+        this.indexByName = indexByName;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.climbs = climbs;
+    }
+
+    public static CompactGraph of(Map<Node, List<WeightedEdge>> adjacency) {
+        Node[] nodes = adjacency.keySet().toArray(new Node[0]);
+        int n = nodes.length;
+        Map<Node, Integer> indexOf = new HashMap<>(n * 2);
+        Map<String, Integer> indexByName = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            indexOf.put(nodes[i], i);
+            if (nodes[i].getName() != null) {
+                indexByName.putIfAbsent(nodes[i].getName().toLowerCase(), i);
+            }
+        }
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + adjacency.get(nodes[i]).size();
+        }
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        float[] climbs = new float[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            int slot = offsets[i];
+            for (WeightedEdge edge : adjacency.get(nodes[i])) {
+                // Dangling targets become zero-weight self loops so slot numbering stays simple
+                Integer target = edge.getTarget() == null ? null : indexOf.get(edge.getTarget());
+                targets[slot] = target == null ? i : target;
+                weights[slot] = target == null ? 0 : edge.getWeight();
+                climbs[slot] = target == null ? 0 : (float) edge.getClimb();
+                slot++;
+            }
+        }
+        return new CompactGraph(nodes, indexOf, indexByName, offsets, targets, weights, climbs);
+    }
+
+    public int size() {
+        return nodes.length;
+    }
+
+    public Node node(int index) {
+        return nodes[index];
+    }
+
+    /** Returns the index of a node, or -1 when it is not part of this graph. */
+    public int indexOf(Node node) {
+        Integer index = indexOf.get(node);
+        return index == null ? -1 : index;
+    }
+
+    /** Case-insensitive lookup by node name; returns -1 when no node has that name. */
+    public int indexOfName(String name) {
+        Integer index = name == null ? null : indexByName.get(name.toLowerCase());
+        return index == null ? -1 : index;
+    }
+
+    /** Returns the node with coordinates closest to the given point, or -1 if none have coordinates. */
+    public int nearest(double latitude, double longitude) {
+        int best = -1;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        for (int i = 0; i < nodes.length; i++) {
+            Node node = nodes[i];
+            if (node.getLatitude() == null || node.getLongitude() == null) continue;
+            double dLat = node.getLatitude() - latitude;
+            double dLng = (node.getLongitude() - longitude) * cosLatitude;
+            double distance = dLat * dLat + dLng * dLng;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    int[] getOffsets() {
+        return offsets;
+    }
+
+    int[] getTargets() {
+        return targets;
+    }
+
+    double[] getWeights() {
+        return weights;
+    }
+
+    float[] getClimbs() {
+        return climbs;
+    }
+
+    public long getEstimatedBytes() {
+        return nodes.length * 80L + targets.length * (long) (Integer.BYTES + Double.BYTES + Float.BYTES) + offsets.length * (long) Integer.BYTES;
+    }
+}
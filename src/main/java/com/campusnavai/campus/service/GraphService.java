@@ -1,16 +1,25 @@
 package com.campusnavai.campus.service;
 
+import com.campusnavai.campus.config.CampusRegistry;
 import com.campusnavai.campus.entity.Edge;
 import com.campusnavai.campus.entity.Node;
 import com.campusnavai.campus.entity.WeightedEdge;
 import com.campusnavai.campus.repository.DatabaseAccess;
+import com.campusnavai.campus.repository.DatabaseAccess.CampusSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class GraphService {
@@ -19,29 +28,238 @@ public class GraphService {
     @Autowired
     private DatabaseAccess databaseAccess;
 
-    private Map<String, Map<Node, List<WeightedEdge>>> campusGraphs;
+    @Autowired
+    private CampusRegistry campusRegistry;
+
+    @Value("${campusnav.watch.enabled:true}")
+    private boolean watchEnabled;
+
+    @Value("${campusnav.graph.heap-budget-mb:256}")
+    private long heapBudgetMb;
+
+    @Value("${campusnav.allpairs.enabled:true}")
+    private boolean allPairsEnabled;
+
+    @Value("${campusnav.allpairs.max-nodes:1500}")
+    private int allPairsMaxNodes;
+
+    @Value("${campusnav.allpairs.parallelism:0}")
+    private int allPairsParallelism;
+
+    @Value("${campusnav.pareto.bag-size:6}")
+    private int paretoBagSize;
+
+    @Value("${campusnav.pareto.max-labels:20000}")
+    private int paretoMaxLabels;
+
+    private ForkJoinPool allPairsPool;
+
+    // One future per campus so concurrent first requests share a single load
+    private final Map<String, CompletableFuture<CampusGraph>> campusGraphs = new ConcurrentHashMap<>();
+
+    // Kept outside CampusGraph so usage counts survive rebuilds and evictions
+    private final Map<String, NodePopularity> popularity = new ConcurrentHashMap<>();
+
+    // Estimated heap held by live navigation sessions, charged against the same budget
+    private final AtomicLong sessionBytes = new AtomicLong();
 
     @PostConstruct
     public void init() {
-        logger.info("Starting graph initialization for all campuses");
-        campusGraphs = new HashMap<>();
-        String[] campuses = {"deemed", "hill", "outer"};
-        for (String campus : campuses) {
+        if (paretoBagSize < 2 || paretoBagSize > Byte.MAX_VALUE) {
+            throw new IllegalStateException("campusnav.pareto.bag-size must be between 2 and " + Byte.MAX_VALUE);
+        }
+        if (paretoMaxLabels < 1) {
+            throw new IllegalStateException("campusnav.pareto.max-labels must be at least 1");
+        }
+        if (allPairsEnabled) {
+            if (allPairsMaxNodes < 1 || allPairsMaxNodes > AllPairsTable.MAX_NODES) {
+                throw new IllegalStateException("campusnav.allpairs.max-nodes must be between 1 and " + AllPairsTable.MAX_NODES);
+            }
+            if (AllPairsTable.estimateBytes(allPairsMaxNodes) > heapBudgetMb * 1024 * 1024) {
+                throw new IllegalStateException("campusnav.allpairs.max-nodes=" + allPairsMaxNodes + " needs "
+                        + AllPairsTable.estimateBytes(allPairsMaxNodes) / (1024 * 1024)
+                        + " MB per table, more than campusnav.graph.heap-budget-mb=" + heapBudgetMb);
+            }
+        }
+        allPairsPool = new ForkJoinPool(allPairsParallelism > 0 ? allPairsParallelism : Runtime.getRuntime().availableProcessors());
+        logger.info("Preloading graphs for campuses marked preload");
+        for (String campus : campusRegistry.getCampusNames()) {
+            if (!campusRegistry.get(campus).isPreload()) {
+                continue;
+            }
             try {
-                Map<Node, List<WeightedEdge>> graph = buildWeightedGraph(campus);
-                campusGraphs.put(campus, graph);
-                if (graph.isEmpty()) {
+                CampusGraph graph = getGraph(campus);
+                if (graph.getAdjacency().isEmpty()) {
                     logger.warn("Weighted graph for campus {} is empty after initialization", campus);
                 } else {
-                    logger.info("Graph for campus {} initialized with {} nodes", campus, graph.size());
+                    logger.info("Graph for campus {} initialized with {} nodes", campus, graph.getAdjacency().size());
                 }
             } catch (Exception e) {
                 logger.error("Failed to initialize weighted graph for campus {}: {}", campus, e.getMessage(), e);
-                campusGraphs.put(campus, new HashMap<>()); // Fallback to empty graph
             }
         }
     }
 
+    /**
+     * Returns the graph for a campus, loading it on first use. A failed load is not cached so the
+     * next request retries it.
+     */
+    CampusGraph getGraph(String campus) {
+        String key = campus.toLowerCase();
+        campusRegistry.get(key);
+        CompletableFuture<CampusGraph> future = campusGraphs.get(key);
+        if (future == null) {
+            CompletableFuture<CampusGraph> created = new CompletableFuture<>();
+            future = campusGraphs.putIfAbsent(key, created);
+            if (future == null) {
+                future = created;
+                load(key, created);
+            }
+        }
+        try {
+            CampusGraph graph = future.join();
+            graph.touch();
+            return graph;
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Graph for campus " + campus + " is not initialized: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void load(String campus, CompletableFuture<CampusGraph> future) {
+        try {
+            CampusGraph graph = buildCampusGraph(campus);
+            future.complete(graph);
+            logger.info("Loaded graph for campus {} (~{} KB)", campus, graph.getEstimatedBytes() / 1024);
+            evictIfOverBudget(campus);
+        } catch (Throwable e) {
+            // Waiters would block forever on a future that is never completed
+            campusGraphs.remove(campus, future);
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Returns the shared shortest-path tree toward a destination index of a loaded graph, and
+     * re-checks the heap budget when the tree had to be built.
+     */
+    ShortestPathTree treeToward(CampusGraph graph, int destination) {
+        long before = graph.getEstimatedBytes();
+        ShortestPathTree tree = graph.treeToward(destination);
+        if (graph.getEstimatedBytes() > before) {
+            evictIfOverBudget(graph.getCampus());
+        }
+        return tree;
+    }
+
+    /** Adds (or with a negative delta, releases) heap held by navigation sessions on a campus. */
+    void reserveSessionBytes(String campus, long delta) {
+        sessionBytes.addAndGet(delta);
+        if (delta > 0) {
+            evictIfOverBudget(campus.toLowerCase());
+        }
+    }
+
+    /**
+     * Evicts least recently used campus graphs until the estimated total, including live
+     * sessions, fits the heap budget. The campus that triggered the check is never evicted.
+     */
+    private synchronized void evictIfOverBudget(String keep) {
+        long budget = heapBudgetMb * 1024 * 1024 - sessionBytes.get();
+        List<CampusGraph> loaded = new ArrayList<>();
+        long total = 0;
+        for (CompletableFuture<CampusGraph> future : campusGraphs.values()) {
+            CampusGraph graph = future.isCompletedExceptionally() ? null : future.getNow(null);
+            if (graph != null) {
+                loaded.add(graph);
+                total += graph.getEstimatedBytes();
+            }
+        }
+        if (total <= budget) {
+            return;
+        }
+        loaded.sort(Comparator.comparingLong(CampusGraph::getLastAccessedAt));
+        for (CampusGraph graph : loaded) {
+            if (total <= budget) {
+                break;
+            }
+            if (graph.getCampus().equals(keep)) {
+                continue;
+            }
+            CompletableFuture<CampusGraph> future = campusGraphs.get(graph.getCampus());
+            if (future != null && !future.isCompletedExceptionally() && future.getNow(null) == graph
+                    && campusGraphs.remove(graph.getCampus(), future)) {
+                total -= graph.getEstimatedBytes();
+                logger.info("Evicted graph for campus {} to stay within {} MB heap budget", graph.getCampus(), heapBudgetMb);
+            }
+        }
+    }
+
+    /** Returns the loaded graph for a campus without loading it or counting it as an access. */
+    CampusGraph peekGraph(String campus) {
+        CompletableFuture<CampusGraph> future = campusGraphs.get(campus.toLowerCase());
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        return future.getNow(null);
+    }
+
+    public Set<String> getLoadedCampuses() {
+        Set<String> loaded = new HashSet<>();
+        campusGraphs.forEach((campus, future) -> {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                loaded.add(campus);
+            }
+        });
+        return loaded;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        allPairsPool.shutdownNow();
+    }
+
+    private CampusGraph buildCampusGraph(String campus) {
+        // Read before the tables so an edit made during the build shows up as a change afterwards;
+        // nothing compares it when the watcher is off
+        CampusSignature signature = null;
+        if (watchEnabled) {
+            try {
+                signature = databaseAccess.findCampusSignature(campus);
+            } catch (RuntimeException e) {
+                logger.warn("Could not read change signature for campus {}: {}", campus, e.getMessage());
+            }
+        }
+        Map<Node, List<WeightedEdge>> adjacency = buildWeightedGraph(campus);
+        CompactGraph compact = CompactGraph.of(adjacency);
+        AllPairsTable allPairs = null;
+        if (allPairsEnabled && !adjacency.isEmpty() && adjacency.size() <= allPairsMaxNodes) {
+            long started = System.nanoTime();
+            allPairs = AllPairsTable.build(compact, allPairsPool);
+            logger.info("Built all-pairs table for campus {} ({} nodes, {} KB) in {} ms", campus, adjacency.size(),
+                    allPairs.getEstimatedBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+        }
+        NodePopularity nodePopularity = popularity.computeIfAbsent(campus, key -> new NodePopularity());
+        NodeSuggestIndex suggestIndex = NodeSuggestIndex.build(adjacency, nodePopularity);
+        return new CampusGraph(campus, adjacency, compact, suggestIndex, allPairs, signature);
+    }
+
+    public List<GraphMemory> getMemoryReport() {
+        List<GraphMemory> report = new ArrayList<>();
+        campusGraphs.forEach((campus, future) -> {
+            CampusGraph graph = future.isCompletedExceptionally() ? null : future.getNow(null);
+            if (graph != null) {
+                AllPairsTable allPairs = graph.getAllPairs();
+                report.add(new GraphMemory(campus, graph.getAdjacency().size(), graph.getEstimatedBytes(),
+                        allPairs == null ? 0 : allPairs.getEstimatedBytes()));
+            }
+        });
+        report.sort(Comparator.comparing(GraphMemory::campus));
+        return report;
+    }
+
+    public record GraphMemory(String campus, int nodes, long estimatedBytes, long allPairsBytes) {
+    }
+
     private Map<Node, List<WeightedEdge>> buildWeightedGraph(String campus) {
         logger.info("Building weighted graph for campus {}", campus);
         Map<Node, List<WeightedEdge>> graph = new HashMap<>();
@@ -63,24 +281,94 @@ public class GraphService {
                 continue;
             }
             double weight = edge.getWeight();
-            graph.computeIfAbsent(fromNode, k -> new ArrayList<>()).add(new WeightedEdge(toNode, weight));
-            graph.computeIfAbsent(toNode, k -> new ArrayList<>()).add(new WeightedEdge(fromNode, weight));
+            double climb = ClimbCost.of(edge);
+            graph.computeIfAbsent(fromNode, k -> new ArrayList<>()).add(new WeightedEdge(toNode, weight, climb));
+            graph.computeIfAbsent(toNode, k -> new ArrayList<>()).add(new WeightedEdge(fromNode, weight, climb));
             logger.debug("Added edge for campus {}: {} -> {} (weight: {})", campus, fromNode.getName(), toNode.getName(), weight);
         }
         return graph;
     }
 
     public void rebuildGraph(String campus) {
+        String key = campus.toLowerCase();
+        CompletableFuture<CampusGraph> observed = campusGraphs.get(key);
+        if (observed == null || !observed.isDone()) {
+            // Not loaded, or a load is already reading the current tables
+            logger.info("Campus {} is not loaded, it will be built on next use", campus);
+            return;
+        }
         logger.info("Rebuilding graph for campus {}", campus);
-        campusGraphs.put(campus, buildWeightedGraph(campus));
+        // Build fully before swapping so in-flight requests keep using the previous graph
+        CampusGraph graph = buildCampusGraph(key);
+        // Only swap if nothing evicted or replaced the graph while this one was being built
+        if (!campusGraphs.replace(key, observed, CompletableFuture.completedFuture(graph))) {
+            logger.info("Discarding rebuilt graph for campus {}: it was evicted or replaced during the rebuild", campus);
+            return;
+        }
+        evictIfOverBudget(key);
+    }
+
+    public List<String> suggestNodes(String campus, String query, int limit) {
+        return getGraph(campus).getSuggestIndex().suggest(query, limit);
+    }
+
+    /**
+     * Returns the routes that trade distance against climbing, none of which is both longer and
+     * steeper than another, ordered by distance.
+     */
+    public ParetoRoutes findParetoRoutes(String startLocation, String endLocation, String campus) {
+        logger.info("Finding Pareto routes from {} to {} for campus {}", startLocation, endLocation, campus);
+        CompactGraph compact = getGraph(campus).getCompact();
+        int start = compact.indexOfName(startLocation);
+        int end = compact.indexOfName(endLocation);
+        if (start < 0) {
+            throw new IllegalArgumentException("Start location not found: " + startLocation + " in campus " + campus);
+        }
+        if (end < 0) {
+            throw new IllegalArgumentException("End location not found: " + endLocation + " in campus " + campus);
+        }
+        ParetoRouter.ParetoResult result = ParetoRouter.search(compact, start, end, paretoBagSize, paretoMaxLabels);
+        if (result.routes().isEmpty()) {
+            throw new IllegalArgumentException("No path exists between " + startLocation + " and " + endLocation);
+        }
+        List<ParetoRouteView> routes = new ArrayList<>();
+        for (ParetoRouter.ParetoRoute route : result.routes()) {
+            List<String> names = route.path().stream().map(index -> compact.node(index).getName()).toList();
+            routes.add(new ParetoRouteView(names, route.distance(), route.climb()));
+        }
+        if (result.truncated()) {
+            logger.warn("Pareto search from {} to {} in campus {} hit the {} label cap", startLocation, endLocation, campus, paretoMaxLabels);
+        }
+        return new ParetoRoutes(routes, result.truncated());
+    }
+
+    public record ParetoRouteView(List<String> path, double distance, double climb) {
+    }
+
+    public record ParetoRoutes(List<ParetoRouteView> routes, boolean truncated) {
     }
 
     public List<Node> findShortestPath(String startLocation, String endLocation, String algorithm, String campus) {
+        return findShortestPath(startLocation, endLocation, algorithm, campus, null);
+    }
+
+    /**
+     * Finds a route and, when {@code profile} is non-null, records per-phase timings and search
+     * counters into it.
+     */
+    public List<Node> findShortestPath(String startLocation, String endLocation, String algorithm, String campus, RouteProfile profile) {
         logger.info("Finding shortest path from {} to {} using {} for campus {}", startLocation, endLocation, algorithm, campus);
-        Map<Node, List<WeightedEdge>> weightedGraph = campusGraphs.getOrDefault(campus.toLowerCase(), new HashMap<>());
+        String graphSource = null;
+        if (profile != null) {
+            graphSource = getLoadedCampuses().contains(campus.toLowerCase()) ? "resident" : "loaded";
+            profile.start();
+        }
+        CampusGraph campusGraph = getGraph(campus);
+        Map<Node, List<WeightedEdge>> weightedGraph = campusGraph.getAdjacency();
         if (weightedGraph.isEmpty()) {
             throw new IllegalStateException("Graph for campus " + campus + " is not initialized");
         }
+        if (profile != null) profile.recordSnapshot(graphSource);
         Optional<Node> startNodeOpt = databaseAccess.findNodeByName(startLocation, campus);
         Optional<Node> endNodeOpt = databaseAccess.findNodeByName(endLocation, campus);
         if (startNodeOpt.isEmpty()) {
@@ -91,20 +379,33 @@ public class GraphService {
         }
         Node startNode = startNodeOpt.get();
         Node endNode = endNodeOpt.get();
-        if ("dijkstra".equalsIgnoreCase(algorithm)) {
-            return findShortestPathDijkstra(startNode, endNode, weightedGraph);
+        campusGraph.getSuggestIndex().recordSelection(startNode);
+        campusGraph.getSuggestIndex().recordSelection(endNode);
+        if (profile != null) profile.recordResolution();
+        AllPairsTable allPairs = campusGraph.getAllPairs();
+        if ("dijkstra".equalsIgnoreCase(algorithm) && allPairs != null && allPairs.contains(startNode) && allPairs.contains(endNode)) {
+            if (profile != null) profile.recordSearch("all-pairs", 0, 0, 0);
+            List<Node> path = allPairs.path(startNode, endNode);
+            if (profile != null) profile.recordReconstruction();
+            return path;
+        } else if ("dijkstra".equalsIgnoreCase(algorithm)) {
+            return findShortestPathDijkstra(startNode, endNode, weightedGraph, profile);
         } else if ("bfs".equalsIgnoreCase(algorithm)) {
-            return findShortestPathBFS(startNode, endNode, weightedGraph);
+            return findShortestPathBFS(startNode, endNode, weightedGraph, profile);
         } else {
             throw new IllegalArgumentException("Invalid algorithm. Use 'bfs' or 'dijkstra'.");
         }
     }
 
-    private List<Node> findShortestPathBFS(Node startNode, Node endNode, Map<Node, List<WeightedEdge>> weightedGraph) {
+    private List<Node> findShortestPathBFS(Node startNode, Node endNode, Map<Node, List<WeightedEdge>> weightedGraph, RouteProfile profile) {
         Map<Node, Node> parentMap = new HashMap<>();
         Queue<Node> queue = new LinkedList<>();
         Set<Node> visited = new HashSet<>();
 
+        int settled = 0;
+        int relaxed = 0;
+        int peakQueue = 1;
+
         queue.add(startNode);
         visited.add(startNode);
         parentMap.put(startNode, null);
@@ -112,6 +413,7 @@ public class GraphService {
 
         while (!queue.isEmpty()) {
             Node current = queue.poll();
+            settled++;
             logger.debug("Visiting node: {} (id: {})", current.getName(), current.getNodeId());
             if (current.equals(endNode)) {
                 logger.debug("Found end node: {} (id: {})", endNode.getName(), endNode.getNodeId());
@@ -123,6 +425,7 @@ public class GraphService {
                     .map(WeightedEdge::getTarget)
                     .filter(Objects::nonNull)
                     .toList();
+            relaxed += neighbors.size();
             for (Node neighbor : neighbors) {
                 if (!visited.contains(neighbor)) {
                     logger.debug("Adding neighbor: {} (id: {})", neighbor.getName(), neighbor.getNodeId());
@@ -131,7 +434,9 @@ public class GraphService {
                     parentMap.put(neighbor, current);
                 }
             }
+            peakQueue = Math.max(peakQueue, queue.size());
         }
+        if (profile != null) profile.recordSearch("bfs", settled, relaxed, peakQueue);
 
         if (!parentMap.containsKey(endNode)) {
             logger.warn("No path found between {} (id: {}) and {} (id: {})", 
@@ -146,11 +451,12 @@ public class GraphService {
             current = parentMap.get(current);
         }
         Collections.reverse(path);
+        if (profile != null) profile.recordReconstruction();
         logger.info("Path found: {}", path.stream().map(Node::getName).toList());
         return path;
     }
 
-    private List<Node> findShortestPathDijkstra(Node startNode, Node endNode, Map<Node, List<WeightedEdge>> weightedGraph) {
+    private List<Node> findShortestPathDijkstra(Node startNode, Node endNode, Map<Node, List<WeightedEdge>> weightedGraph, RouteProfile profile) {
         Map<Node, Double> distances = new HashMap<>();
         Map<Node, Node> parentMap = new HashMap<>();
         PriorityQueue<NodeDistance> priorityQueue = new PriorityQueue<>(Comparator.comparingDouble(NodeDistance::distance));
@@ -161,6 +467,8 @@ public class GraphService {
         }
         distances.put(startNode, 0.0);
         priorityQueue.add(new NodeDistance(startNode, 0.0));
+        int relaxed = 0;
+        int peakQueue = 1;
 
         while (!priorityQueue.isEmpty()) {
             Node current = priorityQueue.poll().node();
@@ -173,6 +481,7 @@ public class GraphService {
             for (WeightedEdge edge : edgeList) {
                 Node neighbor = edge.getTarget();
                 if (neighbor == null) continue;
+                relaxed++;
                 double newDistance = distances.get(current) + edge.getWeight();
                 if (newDistance < distances.getOrDefault(neighbor, Double.POSITIVE_INFINITY)) {
                     distances.put(neighbor, newDistance);
@@ -180,7 +489,9 @@ public class GraphService {
                     priorityQueue.add(new NodeDistance(neighbor, newDistance));
                 }
             }
+            peakQueue = Math.max(peakQueue, priorityQueue.size());
         }
+        if (profile != null) profile.recordSearch("dijkstra", visited.size(), relaxed, peakQueue);
 
         if (!parentMap.containsKey(endNode) && !startNode.equals(endNode)) {
             throw new IllegalArgumentException("No path exists between " + startNode.getName() + " and " + endNode.getName());
@@ -193,6 +504,7 @@ public class GraphService {
             current = parentMap.get(current);
         }
         Collections.reverse(path);
+        if (profile != null) profile.recordReconstruction();
         return path;
     }
 
@@ -0,0 +1,108 @@
+package com.campusnavai.campus.service;
+
+import com.campusnavai.campus.entity.Node;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One walking user's live route toward a fixed destination. The route is a path in the
+ * destination's shortest-path tree on the graph it was computed on, so any off-route position
+ * rejoins it by following next hops. The graph is only weakly referenced: a rebuilt or evicted
+ * campus graph is not kept alive by sessions, and its route indices are discarded on next use.
+ * Callers synchronize on the session before touching the route.
+ */
+public class NavigationSession {
+    private static final WeakReference<CampusGraph> NO_GRAPH = new WeakReference<>(null);
+
+    private final String id;
+    private final String campus;
+    private final Node destination;
+    private WeakReference<CampusGraph> graph = NO_GRAPH;
+    private int destinationIndex = ShortestPathTree.NO_HOP;
+    private List<Integer> route = new ArrayList<>();
+    private Map<Integer, Integer> routePositions = new HashMap<>();
+    private Node lastPosition;
+    private volatile long lastActivityAt;
+    private volatile SseEmitter emitter;
+
+    NavigationSession(String id, String campus, Node destination) {
+        this.id = id;
+        this.campus = campus;
+        this.destination = destination;
+        touch();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    String getCampus() {
+        return campus;
+    }
+
+    Node getDestination() {
+        return destination;
+    }
+
+    /** Whether the route was computed on this exact graph instance. */
+    boolean isOn(CampusGraph current) {
+        return graph.get() == current;
+    }
+
+    /** Moves the session to another graph; the old route's indices do not apply to it. */
+    void moveTo(CampusGraph current, int destinationIndex) {
+        this.graph = new WeakReference<>(current);
+        this.destinationIndex = destinationIndex;
+        setRoute(List.of());
+    }
+
+    int getDestinationIndex() {
+        return destinationIndex;
+    }
+
+    List<Integer> getRoute() {
+        return route;
+    }
+
+    Integer positionOf(int node) {
+        return routePositions.get(node);
+    }
+
+    void setRoute(List<Integer> route) {
+        this.route = route;
+        Map<Integer, Integer> positions = new HashMap<>(route.size() * 2);
+        for (int i = 0; i < route.size(); i++) {
+            positions.put(route.get(i), i);
+        }
+        this.routePositions = positions;
+    }
+
+    Node getLastPosition() {
+        return lastPosition;
+    }
+
+    void setLastPosition(Node lastPosition) {
+        this.lastPosition = lastPosition;
+    }
+
+    long getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    void touch() {
+        lastActivityAt = System.currentTimeMillis();
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    void setEmitter(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+}
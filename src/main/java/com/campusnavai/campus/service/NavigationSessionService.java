@@ -0,0 +1,278 @@
+package com.campusnavai.campus.service;
+
+import com.campusnavai.campus.config.CampusRegistry;
+import com.campusnavai.campus.entity.Node;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live re-routing sessions. Every position is answered by walking the destination's
+ * shortest-path tree until it rejoins the current route, and only the new segment is pushed to
+ * the client over server-sent events. Trees are shared per graph and destination and cached on
+ * the campus graph; when the campus graph is rebuilt or evicted, the session moves to the current
+ * graph with a full reroute, or ends if its destination is gone. Sessions count against the graph
+ * heap budget.
+ */
+@Service
+public class NavigationSessionService {
+    private static final Logger logger = LoggerFactory.getLogger(NavigationSessionService.class);
+    // Route list, position map and emitter of a typical session
+    private static final long BYTES_PER_SESSION = 4096;
+    private static final RouteUpdate ENDED = new RouteUpdate("ended", List.of(), -1, 0);
+
+    @Autowired
+    private GraphService graphService;
+
+    @Autowired
+    private CampusRegistry campusRegistry;
+
+    @Value("${campusnav.sessions.idle-timeout-ms:300000}")
+    private long idleTimeoutMs;
+
+    @Value("${campusnav.sessions.max:10000}")
+    private int maxSessions;
+
+    private final Map<String, NavigationSession> sessions = new ConcurrentHashMap<>();
+
+    public SessionStart start(String campus, String destination, String origin) {
+        if (!campusRegistry.contains(campus)) {
+            throw new IllegalArgumentException("Invalid campus: " + campus);
+        }
+        if (sessions.size() >= maxSessions) {
+            throw new IllegalStateException("Too many active navigation sessions, try again later");
+        }
+        CampusGraph graph = graphService.getGraph(campus);
+        CompactGraph compact = graph.getCompact();
+        int root = compact.indexOfName(destination);
+        if (root < 0) {
+            throw new IllegalArgumentException("End location not found: " + destination + " in campus " + campus);
+        }
+        NavigationSession session = new NavigationSession(UUID.randomUUID().toString(), campus, compact.node(root));
+        session.moveTo(graph, root);
+        List<String> route = List.of();
+        if (origin != null && !origin.isBlank()) {
+            int start = compact.indexOfName(origin);
+            if (start < 0) {
+                throw new IllegalArgumentException("Start location not found: " + origin + " in campus " + campus);
+            }
+            route = reroute(session, graph, start).segment();
+        }
+        sessions.put(session.getId(), session);
+        graphService.reserveSessionBytes(campus, BYTES_PER_SESSION);
+        logger.info("Started navigation session {} toward {} in campus {}", session.getId(), destination, campus);
+        return new SessionStart(session.getId(), route);
+    }
+
+    public SseEmitter subscribe(String sessionId) {
+        NavigationSession session = require(sessionId);
+        synchronized (session) {
+            CampusGraph graph = currentGraph(session);
+            if (graph == null) {
+                throw new NoSuchElementException("Navigation session ended, its destination no longer exists: " + sessionId);
+            }
+            SseEmitter emitter = new SseEmitter(idleTimeoutMs);
+            emitter.onCompletion(() -> clearEmitter(session, emitter));
+            emitter.onTimeout(() -> clearEmitter(session, emitter));
+            emitter.onError(e -> clearEmitter(session, emitter));
+            SseEmitter previous = session.getEmitter();
+            session.setEmitter(emitter);
+            if (previous != null) {
+                previous.complete();
+            }
+            session.touch();
+            ShortestPathTree tree = graphService.treeToward(graph, session.getDestinationIndex());
+            Node last = session.getLastPosition();
+            int position = last == null ? -1 : graph.getCompact().indexOf(last);
+            if (session.getRoute().isEmpty() && position >= 0 && tree.reaches(position)) {
+                // The route was dropped when the session moved to a new graph
+                reroute(session, graph, position);
+            }
+            List<Integer> route = session.getRoute();
+            double remaining = route.isEmpty() ? 0 : tree.remaining(route.get(0));
+            send(session, "route", new RouteUpdate("route", routeNames(graph, route), -1, remaining));
+            return emitter;
+        }
+    }
+
+    /**
+     * Records a position given as a node name or as coordinates (snapped to the nearest node) and
+     * returns what changed. Reroutes, arrival and the end of a session whose destination was
+     * removed are also pushed to the subscribed emitter.
+     */
+    public RouteUpdate updatePosition(String sessionId, String nodeName, Double latitude, Double longitude) {
+        NavigationSession session = require(sessionId);
+        if ((nodeName == null || nodeName.isBlank()) && (latitude == null || longitude == null)) {
+            throw new IllegalArgumentException("Provide either a node name or latitude and longitude");
+        }
+        synchronized (session) {
+            session.touch();
+            CampusGraph graph = currentGraph(session);
+            if (graph == null) {
+                return ENDED;
+            }
+            CompactGraph compact = graph.getCompact();
+            int position;
+            if (nodeName != null && !nodeName.isBlank()) {
+                position = compact.indexOfName(nodeName);
+                if (position < 0) {
+                    throw new IllegalArgumentException("Location not found: " + nodeName);
+                }
+            } else {
+                position = compact.nearest(latitude, longitude);
+                if (position < 0) {
+                    throw new IllegalArgumentException("No locations with coordinates in this campus");
+                }
+            }
+            RouteUpdate update = reroute(session, graph, position);
+            if (!"on-route".equals(update.status())) {
+                send(session, update.status(), update);
+            }
+            return update;
+        }
+    }
+
+    public void end(String sessionId) {
+        NavigationSession session = sessions.remove(sessionId);
+        if (session != null) {
+            release(session);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${campusnav.sessions.sweep-interval-ms:30000}")
+    public void expireIdleSessions() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMs;
+        int expired = 0;
+        for (NavigationSession session : sessions.values()) {
+            if (session.getLastActivityAt() < cutoff && sessions.remove(session.getId(), session)) {
+                release(session);
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            logger.info("Expired {} idle navigation sessions, {} remain", expired, sessions.size());
+        }
+    }
+
+    private void release(NavigationSession session) {
+        if (session.getEmitter() != null) {
+            session.getEmitter().complete();
+        }
+        graphService.reserveSessionBytes(session.getCampus(), -BYTES_PER_SESSION);
+    }
+
+    /**
+     * Returns the campus's current graph, moving the session onto it when the graph it was routed
+     * on has been rebuilt or evicted. The old route is dropped because its indices belong to the
+     * old graph; the next reroute starts from scratch. If the destination no longer exists, the
+     * session is ended with an "ended" event and null is returned. Call with the session locked.
+     */
+    private CampusGraph currentGraph(NavigationSession session) {
+        CampusGraph graph = graphService.getGraph(session.getCampus());
+        if (session.isOn(graph)) {
+            return graph;
+        }
+        int root = graph.getCompact().indexOf(session.getDestination());
+        if (root < 0) {
+            logger.info("Ending navigation session {}: destination {} was removed from campus {}",
+                    session.getId(), session.getDestination().getName(), session.getCampus());
+            send(session, ENDED.status(), ENDED);
+            end(session.getId());
+            return null;
+        }
+        session.moveTo(graph, root);
+        return graph;
+    }
+
+    private RouteUpdate reroute(NavigationSession session, CampusGraph graph, int position) {
+        CompactGraph compact = graph.getCompact();
+        ShortestPathTree tree = graphService.treeToward(graph, session.getDestinationIndex());
+        if (!tree.reaches(position)) {
+            throw new IllegalArgumentException("No path exists from " + compact.node(position).getName()
+                    + " to " + compact.node(tree.getRoot()).getName());
+        }
+        session.setLastPosition(compact.node(position));
+        if (position == tree.getRoot()) {
+            session.setRoute(List.of(position));
+            return new RouteUpdate("arrived", routeNames(graph, List.of(position)), -1, 0);
+        }
+        Integer onRoute = session.positionOf(position);
+        if (onRoute != null) {
+            return new RouteUpdate("on-route", List.of(), onRoute, tree.remaining(position));
+        }
+        // Follow the tree until it meets the current route; everything after that point is unchanged
+        List<Integer> segment = new ArrayList<>();
+        int current = position;
+        segment.add(current);
+        while (current != tree.getRoot() && session.positionOf(current) == null) {
+            current = tree.nextHop(current);
+            segment.add(current);
+        }
+        Integer rejoin = session.positionOf(current);
+        int rejoinIndex = rejoin == null ? -1 : rejoin;
+        List<Integer> previous = session.getRoute();
+        List<Integer> updated = new ArrayList<>(segment);
+        if (rejoinIndex >= 0) {
+            updated.addAll(previous.subList(rejoinIndex + 1, previous.size()));
+        }
+        session.setRoute(updated);
+        return new RouteUpdate("reroute", routeNames(graph, segment), rejoinIndex, tree.remaining(position));
+    }
+
+    private static List<String> routeNames(CampusGraph graph, List<Integer> indices) {
+        List<String> names = new ArrayList<>(indices.size());
+        for (int index : indices) {
+            names.add(graph.getCompact().node(index).getName());
+        }
+        return names;
+    }
+
+    private void send(NavigationSession session, String event, RouteUpdate update) {
+        SseEmitter emitter = session.getEmitter();
+        if (emitter == null) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(event).data(update));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping emitter for session {}: {}", session.getId(), e.getMessage());
+            clearEmitter(session, emitter);
+        }
+    }
+
+    private void clearEmitter(NavigationSession session, SseEmitter emitter) {
+        synchronized (session) {
+            if (session.getEmitter() == emitter) {
+                session.setEmitter(null);
+            }
+        }
+    }
+
+    private NavigationSession require(String sessionId) {
+        NavigationSession session = sessions.get(sessionId);
+        if (session == null) {
+            throw new NoSuchElementException("Unknown or expired navigation session: " + sessionId);
+        }
+        return session;
+    }
+
+    public record SessionStart(String sessionId, List<String> route) {
+    }
+
+    /**
+     * What changed after a position update. For a reroute, the client's new route is
+     * {@code segment} followed by the previous route after {@code rejoinIndex}; a rejoin index of
+     * -1 means the segment is the whole route. Status "ended" means the destination was removed
+     * from the campus and the session no longer exists.
+     */
+    public record RouteUpdate(String status, List<String> segment, int rejoinIndex, double remainingDistance) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.campusnavai.campus.service;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of (distance, node index) pairs in parallel primitive arrays, used by the
+ * searches over {@link CompactGraph}. Stale entries are left in place and skipped by callers.
+ */
+final class NodeHeap {
+    private double[] keys;
+    private int[] nodes;
+    private int count;
+
+    NodeHeap(int capacity) {
+        keys = new double[capacity];
+        nodes = new int[capacity];
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    void push(double key, int node) {
+        if (count == keys.length) {
+            keys = Arrays.copyOf(keys, count * 2);
+            nodes = Arrays.copyOf(nodes, count * 2);
+        }
+        int i = count++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) break;
+            keys[i] = keys[parent];
+            nodes[i] = nodes[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        nodes[i] = node;
+    }
+
+    int pop() {
+        int top = nodes[0];
+        count--;
+        double lastKey = keys[count];
+        int lastNode = nodes[count];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= count) break;
+            if (child + 1 < count && keys[child + 1] < keys[child]) child++;
+            if (keys[child] >= lastKey) break;
+            keys[i] = keys[child];
+            nodes[i] = nodes[child];
+            i = child;
+        }
+        keys[i] = lastKey;
+        nodes[i] = lastNode;
+        return top;
+    }
+}
@@ -0,0 +1,64 @@
+package com.campusnavai.campus.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * How often each node of a campus was used as a route endpoint, keyed by node id. GraphService
+ * keeps one per campus outside the campus graph, so counts survive rebuilds and evictions.
+ */
+public class NodePopularity {
+    private static final int REFRESH_EVERY = 32;
+    private static final int MAX_RANKED = 256;
+
+    private final Map<Long, AtomicInteger> counts = new ConcurrentHashMap<>();
+    private final AtomicInteger sinceRefresh = new AtomicInteger();
+    private volatile List<Long> ranked;
+
+    public void record(Long nodeId) {
+        if (nodeId == null) {
+            return;
+        }
+        AtomicInteger count = counts.get(nodeId);
+        if (count == null) {
+            count = counts.computeIfAbsent(nodeId, id -> new AtomicInteger());
+            List<Long> current = ranked;
+            if (current != null && current.size() < MAX_RANKED) {
+                // A node the ranking has never seen can always enter a short list
+                ranked = null;
+            }
+        }
+        count.incrementAndGet();
+        if (sinceRefresh.incrementAndGet() >= REFRESH_EVERY) {
+            sinceRefresh.set(0);
+            ranked = null;
+        }
+    }
+
+    public int get(Long nodeId) {
+        AtomicInteger count = counts.get(nodeId);
+        return count == null ? 0 : count.get();
+    }
+
+    /** Most used node ids, recomputed at most once every {@value #REFRESH_EVERY} selections. */
+    public List<Long> top(int limit) {
+        List<Long> current = ranked;
+        if (current == null) {
+            // Sort a snapshot: counts keep changing, and a comparator over live values breaks the sort
+            List<long[]> snapshot = new ArrayList<>(counts.size());
+            counts.forEach((id, count) -> snapshot.add(new long[]{id, count.get()}));
+            snapshot.sort(Comparator.comparingLong((long[] entry) -> -entry[1]));
+            List<Long> ids = new ArrayList<>(Math.min(snapshot.size(), MAX_RANKED));
+            for (int i = 0; i < snapshot.size() && i < MAX_RANKED; i++) {
+                ids.add(snapshot.get(i)[0]);
+            }
+            current = List.copyOf(ids);
+            ranked = current;
+        }
+        return current.size() <= limit ? current : current.subList(0, limit);
+    }
+}
@@ -0,0 +1,356 @@
+package com.campusnavai.campus.service;
+
+import com.campusnavai.campus.entity.Node;
+import com.campusnavai.campus.entity.WeightedEdge;
+
+import java.util.*;
+
+/**
+ * Typeahead index for the node names of one campus, built alongside its graph.
+ *
+ * <p>Every word-start suffix of a name ("central library" and "library") is inserted into a trie
+ * stored in flat arrays (first-child / next-sibling). Each trie node keeps the best few node ids
+ * below it by static score (type and degree). A query is split into words: the longest word is
+ * looked up in the trie, walking the subtree until a bounded candidate set is collected, and every
+ * other word must be a prefix of some word of the name, so "comp lab" finds "Computer Lab 1".
+ * Typos in the longest word are handled by walking the trie with a bounded Levenshtein row.
+ * Candidates, plus the campus's most used nodes that match, are ranked at query time by static
+ * score and popularity.
+ */
+public class NodeSuggestIndex {
+    private static final int TOP_PER_PREFIX = 16;
+    private static final int CANDIDATE_BUDGET = 128;
+    private static final int MAX_VISITED_SLOTS = 4096;
+    private static final int POPULAR_CANDIDATES = 64;
+    private static final int HIT_WEIGHT = 50;
+    private static final Map<String, Integer> TYPE_RANKS = Map.of(
+            "building", 4,
+            "landmark", 4,
+            "department", 3,
+            "gate", 3,
+            "hostel", 2,
+            "room", 1);
+
+    private final Node[] nodes;
+    private final String[][] nameWords;
+    private final int[] staticScores;
+    private final NodePopularity popularity;
+    private final Map<Long, Integer> indexById;
+
+    // Flattened trie, slot 0 is the root
+    private char[] labels = new char[64];
+    private int[] firstChild = new int[64];
+    private int[] nextSibling = new int[64];
+    private int[][] topIds = new int[64][];
+    private byte[] topCounts = new byte[64];
+    private int size = 1;
+
+    private NodeSuggestIndex(Node[] nodes, int[] staticScores, NodePopularity popularity) {
+        this.nodes = nodes;
+        this.staticScores = staticScores;
+        this.popularity = popularity;
+        this.nameWords = new String[nodes.length][];
+        this.indexById = new HashMap<>(nodes.length * 2);
+        for (int i = 0; i < nodes.length; i++) {
+            indexById.put(nodes[i].getNodeId(), i);
+            nameWords[i] = normalize(nodes[i].getName()).split(" ");
+        }
+    }
+
+    public static NodeSuggestIndex build(Map<Node, List<WeightedEdge>> adjacency, NodePopularity popularity) {
+        List<Node> named = new ArrayList<>();
+        for (Node node : adjacency.keySet()) {
+            if (node.getName() != null && !node.getName().isBlank()) {
+                named.add(node);
+            }
+        }
+        // Insert in score order so each trie node's top list fills with the best ids first
+        named.sort(Comparator.comparingInt((Node node) -> -staticScore(node, adjacency))
+                .thenComparing(Node::getName));
+        Node[] nodes = named.toArray(new Node[0]);
+        int[] scores = new int[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            scores[i] = staticScore(nodes[i], adjacency);
+        }
+        NodeSuggestIndex index = new NodeSuggestIndex(nodes, scores, popularity);
+        for (int i = 0; i < nodes.length; i++) {
+            String key = normalize(nodes[i].getName());
+            for (int start = 0; start < key.length(); start++) {
+                if (start == 0 || key.charAt(start - 1) == ' ') {
+                    index.insert(key, start, i);
+                }
+            }
+        }
+        index.trim();
+        return index;
+    }
+
+    private static int staticScore(Node node, Map<Node, List<WeightedEdge>> adjacency) {
+        String type = node.getType() == null ? "" : node.getType().toLowerCase();
+        int degree = adjacency.getOrDefault(node, List.of()).size();
+        return TYPE_RANKS.getOrDefault(type, 1) * 100 + Math.min(degree, 99);
+    }
+
+    static String normalize(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                pendingSpace = false;
+                sb.append(c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns up to {@code limit} node names whose words start with the query words, falling back
+     * to typo-tolerant matches of the longest query word when exact prefixes do not fill the limit.
+     */
+    public List<String> suggest(String query, int limit) {
+        String key = normalize(query);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String[] words = key.split(" ");
+        String anchor = words[0];
+        for (String word : words) {
+            if (word.length() > anchor.length()) {
+                anchor = word;
+            }
+        }
+        Query q = new Query(words, anchor, Math.max(limit, CANDIDATE_BUDGET));
+        // Popular nodes first: they can sit outside the static top lists of the prefix
+        for (Long nodeId : popularity.top(POPULAR_CANDIDATES)) {
+            Integer id = indexById.get(nodeId);
+            if (id != null && matchesWord(id, anchor)) {
+                q.add(id, 0);
+            }
+        }
+        int exact = find(anchor);
+        if (exact >= 0) {
+            collectSubtree(exact, 0, q);
+        }
+        // Short words are too ambiguous to correct
+        int maxEdits = anchor.length() <= 3 ? 0 : anchor.length() <= 6 ? 1 : 2;
+        if (q.distances.size() < limit && maxEdits > 0) {
+            int[] row = new int[anchor.length() + 1];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = i;
+            }
+            for (int child = firstChild[0]; child != 0; child = nextSibling[child]) {
+                fuzzy(child, anchor, row, maxEdits, 1, q);
+            }
+        }
+        List<Integer> ranked = new ArrayList<>(q.distances.keySet());
+        ranked.sort(Comparator.comparingInt((Integer id) -> q.distances.get(id))
+                .thenComparingInt(id -> -rank(id))
+                .thenComparing(id -> nodes[id].getName()));
+        List<String> names = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            names.add(nodes[ranked.get(i)].getName());
+        }
+        return names;
+    }
+
+    /** Counts a node as chosen by a user so it ranks higher in later suggestions. */
+    public void recordSelection(Node node) {
+        if (indexById.containsKey(node.getNodeId())) {
+            popularity.record(node.getNodeId());
+        }
+    }
+
+    private int rank(int id) {
+        return staticScores[id] + popularity.get(nodes[id].getNodeId()) * HIT_WEIGHT;
+    }
+
+    private boolean matchesWord(int id, String prefix) {
+        for (String word : nameWords[id]) {
+            if (word.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int find(String key) {
+        int current = 0;
+        for (int i = 0; i < key.length() && current >= 0; i++) {
+            current = child(current, key.charAt(i));
+        }
+        return current;
+    }
+
+    /**
+     * Collects ids from a trie node and its descendants, best static scores first, until the
+     * candidate budget is met or the visit cap is reached.
+     */
+    private void collectSubtree(int slot, int distance, Query q) {
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.add(slot);
+        int visited = 0;
+        while (!pending.isEmpty() && !q.full() && visited++ < MAX_VISITED_SLOTS) {
+            int current = pending.poll();
+            collect(current, distance, q);
+            for (int child = firstChild[current]; child != 0; child = nextSibling[child]) {
+                pending.add(child);
+            }
+        }
+    }
+
+    private void fuzzy(int slot, String key, int[] previous, int maxEdits, int depth, Query q) {
+        char c = labels[slot];
+        int[] row = new int[previous.length];
+        row[0] = previous[0] + 1;
+        int best = row[0];
+        for (int i = 1; i < row.length; i++) {
+            int substitution = previous[i - 1] + (key.charAt(i - 1) == c ? 0 : 1);
+            row[i] = Math.min(substitution, Math.min(previous[i] + 1, row[i - 1] + 1));
+            best = Math.min(best, row[i]);
+        }
+        int distance = row[row.length - 1];
+        if (distance <= maxEdits) {
+            // The whole word matches this prefix; walk below it so other query words can still filter
+            collectSubtree(slot, distance, q);
+            return;
+        }
+        if (best > maxEdits || depth >= key.length() + maxEdits) {
+            return;
+        }
+        for (int child = firstChild[slot]; child != 0; child = nextSibling[child]) {
+            fuzzy(child, key, row, maxEdits, depth + 1, q);
+        }
+    }
+
+    private void collect(int slot, int distance, Query q) {
+        int[] ids = topIds[slot];
+        for (int i = 0; i < topCounts[slot]; i++) {
+            q.add(ids[i], distance);
+        }
+    }
+
+    /** Candidate ids with their edit distance; only ids matching every non-anchor word get in. */
+    private final class Query {
+        private final String[] words;
+        private final String anchor;
+        private final int budget;
+        private final Map<Integer, Integer> distances = new HashMap<>();
+
+        Query(String[] words, String anchor, int budget) {
+            this.words = words;
+            this.anchor = anchor;
+            this.budget = budget;
+        }
+
+        boolean full() {
+            return distances.size() >= budget;
+        }
+
+        void add(int id, int distance) {
+            Integer known = distances.get(id);
+            if (known != null) {
+                if (distance < known) {
+                    distances.put(id, distance);
+                }
+                return;
+            }
+            if (full() || !matchesOtherWords(id)) {
+                return;
+            }
+            distances.put(id, distance);
+        }
+
+        private boolean matchesOtherWords(int id) {
+            boolean anchorSkipped = false;
+            for (String word : words) {
+                if (!anchorSkipped && word.equals(anchor)) {
+                    anchorSkipped = true;
+                    continue;
+                }
+                if (!matchesWord(id, word)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private void insert(String key, int start, int id) {
+        int current = 0;
+        for (int i = start; i < key.length(); i++) {
+            char c = key.charAt(i);
+            int next = child(current, c);
+            if (next < 0) {
+                next = newSlot(c);
+                nextSibling[next] = firstChild[current];
+                firstChild[current] = next;
+            }
+            current = next;
+            addTop(current, id);
+        }
+    }
+
+    private int child(int slot, char c) {
+        for (int child = firstChild[slot]; child != 0; child = nextSibling[child]) {
+            if (labels[child] == c) {
+                return child;
+            }
+        }
+        return -1;
+    }
+
+    private void addTop(int slot, int id) {
+        int count = topCounts[slot];
+        if (count >= TOP_PER_PREFIX) {
+            return;
+        }
+        int[] ids = topIds[slot];
+        if (ids == null) {
+            ids = new int[4];
+            topIds[slot] = ids;
+        }
+        for (int i = 0; i < count; i++) {
+            if (ids[i] == id) {
+                return;
+            }
+        }
+        if (count == ids.length) {
+            ids = Arrays.copyOf(ids, Math.min(ids.length * 2, TOP_PER_PREFIX));
+            topIds[slot] = ids;
+        }
+        ids[count] = id;
+        topCounts[slot] = (byte) (count + 1);
+    }
+
+    private int newSlot(char c) {
+        if (size == labels.length) {
+            int capacity = size * 2;
+            labels = Arrays.copyOf(labels, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            topIds = Arrays.copyOf(topIds, capacity);
+            topCounts = Arrays.copyOf(topCounts, capacity);
+        }
+        labels[size] = c;
+        return size++;
+    }
+
+    private void trim() {
+        labels = Arrays.copyOf(labels, size);
+        firstChild = Arrays.copyOf(firstChild, size);
+        nextSibling = Arrays.copyOf(nextSibling, size);
+        topIds = Arrays.copyOf(topIds, size);
+        topCounts = Arrays.copyOf(topCounts, size);
+        for (int i = 0; i < size; i++) {
+            if (topIds[i] != null && topIds[i].length != topCounts[i]) {
+                topIds[i] = Arrays.copyOf(topIds[i], topCounts[i]);
+            }
+        }
+    }
+}
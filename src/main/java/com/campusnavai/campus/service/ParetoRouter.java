@@ -0,0 +1,213 @@
+package com.campusnavai.campus.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bi-criteria (distance, climb) label-setting search that returns the Pareto-optimal routes
+ * between two nodes of a {@link CompactGraph}.
+ *
+ * <p>Labels live in parallel primitive arrays and are referenced by id. Each node keeps a bag of
+ * at most {@code bagSize} (at least 2) mutually non-dominated labels; when a bag overflows, the
+ * shortest and flattest labels are always kept and the most crowded label in between is dropped.
+ * Labels dominated by a route already found at the target are never created, and the search
+ * stops after {@code maxLabels} labels, so its cost stays within a small multiple of a
+ * single-criterion Dijkstra.
+ */
+public class ParetoRouter {
+    private final CompactGraph graph;
+    private final int bagSize;
+    private final int maxLabels;
+
+    // Label pool
+    private float[] distances;
+    private float[] climbs;
+    private int[] nodes;
+    private int[] parents;
+    private boolean[] dead;
+    private int labelCount;
+
+    // Per-node bags: bagSize slots per node
+    private int[] bags;
+    private byte[] bagCounts;
+
+    private ParetoRouter(CompactGraph graph, int bagSize, int maxLabels) {
+        this.graph = graph;
+        this.bagSize = bagSize;
+        this.maxLabels = maxLabels;
+        int initial = Math.min(maxLabels, Math.max(64, graph.size()));
+        this.distances = new float[initial];
+        this.climbs = new float[initial];
+        this.nodes = new int[initial];
+        this.parents = new int[initial];
+        this.dead = new boolean[initial];
+        this.bags = new int[graph.size() * bagSize];
+        this.bagCounts = new byte[graph.size()];
+    }
+
+    public static ParetoResult search(CompactGraph graph, int source, int target, int bagSize, int maxLabels) {
+        if (bagSize < 2 || bagSize > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Bag size must be between 2 and " + Byte.MAX_VALUE + ", got " + bagSize);
+        }
+        if (maxLabels < 1) {
+            throw new IllegalArgumentException("Label limit must be at least 1, got " + maxLabels);
+        }
+        return new ParetoRouter(graph, bagSize, maxLabels).run(source, target);
+    }
+
+    private ParetoResult run(int source, int target) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        float[] edgeClimbs = graph.getClimbs();
+        NodeHeap heap = new NodeHeap(64);
+        boolean truncated = false;
+
+        int start = newLabel(source, 0, 0, -1);
+        addToBag(source, start);
+        heap.push(0, start);
+        while (!heap.isEmpty()) {
+            int label = heap.pop();
+            if (dead[label]) continue;
+            int node = nodes[label];
+            if (node == target) continue;
+            if (isDominatedByBag(target, distances[label], climbs[label])) continue;
+            for (int slot = offsets[node]; slot < offsets[node + 1]; slot++) {
+                int neighbor = targets[slot];
+                float distance = (float) (distances[label] + weights[slot]);
+                float climb = climbs[label] + edgeClimbs[slot];
+                if (isDominatedByBag(target, distance, climb) || isDominatedByBag(neighbor, distance, climb)) {
+                    continue;
+                }
+                if (labelCount >= maxLabels) {
+                    truncated = true;
+                    break;
+                }
+                int created = newLabel(neighbor, distance, climb, label);
+                if (insert(neighbor, created)) {
+                    heap.push(distance, created);
+                }
+            }
+            if (truncated) break;
+        }
+
+        List<ParetoRoute> routes = new ArrayList<>();
+        int count = bagCounts[target];
+        int[] found = Arrays.copyOfRange(bags, target * bagSize, target * bagSize + count);
+        Arrays.sort(found);
+        for (int label : found) {
+            routes.add(new ParetoRoute(path(label), distances[label], climbs[label]));
+        }
+        routes.sort((a, b) -> Double.compare(a.distance(), b.distance()));
+        return new ParetoResult(routes, labelCount, truncated);
+    }
+
+    private List<Integer> path(int label) {
+        List<Integer> path = new ArrayList<>();
+        for (int current = label; current >= 0; current = parents[current]) {
+            path.add(nodes[current]);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private boolean isDominatedByBag(int node, float distance, float climb) {
+        int base = node * bagSize;
+        for (int i = 0; i < bagCounts[node]; i++) {
+            int other = bags[base + i];
+            if (distances[other] <= distance && climbs[other] <= climb) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a non-dominated label to a node's bag, pruning labels it dominates. A full bag keeps
+     * its shortest and its flattest label and drops the interior label whose neighbours on the
+     * front are closest together, so thinning never loses either extreme. Returns false when the
+     * new label itself is the one dropped.
+     */
+    private boolean insert(int node, int label) {
+        int base = node * bagSize;
+        int count = bagCounts[node];
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int other = bags[base + i];
+            if (distances[label] <= distances[other] && climbs[label] <= climbs[other]) {
+                dead[other] = true;
+            } else {
+                bags[base + kept++] = other;
+            }
+        }
+        bagCounts[node] = (byte) kept;
+        if (kept < bagSize) {
+            addToBag(node, label);
+            return true;
+        }
+        // Order the front by distance; being non-dominated, climbs then run the other way
+        int[] front = new int[kept + 1];
+        System.arraycopy(bags, base, front, 0, kept);
+        front[kept] = label;
+        for (int i = 1; i < front.length; i++) {
+            int current = front[i];
+            int j = i - 1;
+            while (j >= 0 && distances[front[j]] > distances[current]) {
+                front[j + 1] = front[j];
+                j--;
+            }
+            front[j + 1] = current;
+        }
+        int last = front.length - 1;
+        double distanceRange = Math.max(distances[front[last]] - distances[front[0]], Float.MIN_NORMAL);
+        double climbRange = Math.max(climbs[front[0]] - climbs[front[last]], Float.MIN_NORMAL);
+        int crowded = 1;
+        double smallestGap = Double.POSITIVE_INFINITY;
+        for (int i = 1; i < last; i++) {
+            double gap = (distances[front[i + 1]] - distances[front[i - 1]]) / distanceRange
+                    + (climbs[front[i - 1]] - climbs[front[i + 1]]) / climbRange;
+            if (gap < smallestGap) {
+                smallestGap = gap;
+                crowded = i;
+            }
+        }
+        int dropped = front[crowded];
+        dead[dropped] = true;
+        int slot = base;
+        for (int candidate : front) {
+            if (candidate != dropped) {
+                bags[slot++] = candidate;
+            }
+        }
+        return dropped != label;
+    }
+
+    private void addToBag(int node, int label) {
+        bags[node * bagSize + bagCounts[node]] = label;
+        bagCounts[node]++;
+    }
+
+    private int newLabel(int node, float distance, float climb, int parent) {
+        if (labelCount == distances.length) {
+            int capacity = Math.min(maxLabels, labelCount * 2);
+            distances = Arrays.copyOf(distances, capacity);
+            climbs = Arrays.copyOf(climbs, capacity);
+            nodes = Arrays.copyOf(nodes, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            dead = Arrays.copyOf(dead, capacity);
+        }
+        distances[labelCount] = distance;
+        climbs[labelCount] = climb;
+        nodes[labelCount] = node;
+        parents[labelCount] = parent;
+        return labelCount++;
+    }
+
+    public record ParetoRoute(List<Integer> path, double distance, double climb) {
+    }
+
+    public record ParetoResult(List<ParetoRoute> routes, int labelsCreated, boolean truncated) {
+    }
+}
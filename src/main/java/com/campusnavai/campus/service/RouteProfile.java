@@ -0,0 +1,87 @@
+package com.campusnavai.campus.service;
+
+/**
+ * Per-request timings and search counters returned by {@code /api/navigate?explain=true}.
+ * GraphService only creates one when explain is requested; otherwise it passes null and skips
+ * every clock read.
+ */
+public class RouteProfile {
+    private long phaseStartedAt;
+    private long snapshotNanos;
+    private long resolutionNanos;
+    private long searchNanos;
+    private long reconstructionNanos;
+    private int nodesSettled;
+    private int edgesRelaxed;
+    private int peakQueueSize;
+    private String engine;
+    private String graphSource;
+
+    void start() {
+        phaseStartedAt = System.nanoTime();
+    }
+
+    private long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - phaseStartedAt;
+        phaseStartedAt = now;
+        return elapsed;
+    }
+
+    void recordSnapshot(String graphSource) {
+        this.snapshotNanos = lap();
+        this.graphSource = graphSource;
+    }
+
+    void recordResolution() {
+        this.resolutionNanos = lap();
+    }
+
+    void recordSearch(String engine, int nodesSettled, int edgesRelaxed, int peakQueueSize) {
+        this.searchNanos = lap();
+        this.engine = engine;
+        this.nodesSettled = nodesSettled;
+        this.edgesRelaxed = edgesRelaxed;
+        this.peakQueueSize = peakQueueSize;
+    }
+
+    void recordReconstruction() {
+        this.reconstructionNanos = lap();
+    }
+
+    public double getSnapshotMillis() {
+        return snapshotNanos / 1_000_000.0;
+    }
+
+    public double getResolutionMillis() {
+        return resolutionNanos / 1_000_000.0;
+    }
+
+    public double getSearchMillis() {
+        return searchNanos / 1_000_000.0;
+    }
+
+    public double getReconstructionMillis() {
+        return reconstructionNanos / 1_000_000.0;
+    }
+
+    public int getNodesSettled() {
+        return nodesSettled;
+    }
+
+    public int getEdgesRelaxed() {
+        return edgesRelaxed;
+    }
+
+    public int getPeakQueueSize() {
+        return peakQueueSize;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public String getGraphSource() {
+        return graphSource;
+    }
+}
@@ -0,0 +1,77 @@
+package com.campusnavai.campus.service;
+
+import java.util.Arrays;
+
+/**
+ * Shortest-path tree rooted at a destination: for every node, the next hop toward the
+ * destination and the remaining distance. Built with one Dijkstra from the destination, which is
+ * valid because campus graphs are undirected.
+ */
+public class ShortestPathTree {
+    public static final int NO_HOP = -1;
+
+    private final int root;
+    private final int[] nextHops;
+    private final float[] remaining;
+
+    private ShortestPathTree(int root, int[] nextHops, float[] remaining) {
+        this.root = root;
+        this.nextHops = nextHops;
+        this.remaining = remaining;
+    }
+
+    public static ShortestPathTree toward(CompactGraph graph, int destination) {
+        int n = graph.size();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        double[] dist = new double[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        int[] nextHops = new int[n];
+        Arrays.fill(nextHops, NO_HOP);
+        boolean[] settled = new boolean[n];
+        NodeHeap heap = new NodeHeap(Math.max(16, n));
+        dist[destination] = 0;
+        nextHops[destination] = destination;
+        heap.push(0, destination);
+        while (!heap.isEmpty()) {
+            int current = heap.pop();
+            if (settled[current]) continue;
+            settled[current] = true;
+            for (int slot = offsets[current]; slot < offsets[current + 1]; slot++) {
+                int neighbor = targets[slot];
+                double candidate = dist[current] + weights[slot];
+                if (candidate < dist[neighbor]) {
+                    dist[neighbor] = candidate;
+                    nextHops[neighbor] = current;
+                    heap.push(candidate, neighbor);
+                }
+            }
+        }
+        float[] remaining = new float[n];
+        for (int i = 0; i < n; i++) {
+            remaining[i] = (float) dist[i];
+        }
+        return new ShortestPathTree(destination, nextHops, remaining);
+    }
+
+    public int getRoot() {
+        return root;
+    }
+
+    public boolean reaches(int node) {
+        return nextHops[node] != NO_HOP;
+    }
+
+    public int nextHop(int node) {
+        return nextHops[node];
+    }
+
+    public float remaining(int node) {
+        return remaining[node];
+    }
+
+    public long getEstimatedBytes() {
+        return nextHops.length * (long) (Integer.BYTES + Float.BYTES);
+    }
+}
@@ -0,0 +1,90 @@
+-- Change tracking schema, version 1.
+-- Apply once per database, e.g. mysql campus_navigation < src/main/resources/db/graph_change_log_v1.sql
+-- Every insert, update and delete on a watched table bumps its row in graph_change_log, which the
+-- change watcher compares instead of scanning the table. A table without a row here is watched with
+-- CHECKSUM TABLE instead. When adding a campus, add its seed rows and triggers the same way.
+
+CREATE TABLE IF NOT EXISTS graph_change_log (
+    table_name VARCHAR(64) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT IGNORE INTO graph_change_log (table_name, version) VALUES
+    ('nodes', 0),
+    ('edges', 0),
+    ('nodes_hill', 0),
+    ('edges_hill', 0),
+    ('nodes_outer', 0),
+    ('edges_outer', 0);
+
+DROP TRIGGER IF EXISTS campusnav_nodes_insert;
+CREATE TRIGGER campusnav_nodes_insert AFTER INSERT ON nodes FOR EACH ROW
+    UPDATE graph_change_log SET version = version + 1 WHERE table_name = 'nodes';
+
+DROP TRIGGER IF EXISTS campusnav_nodes_update;
+CREATE TRIGGER campusnav_nodes_update AFTER UPDATE ON nodes FOR EACH ROW
+    UPDATE graph_change_log SET version = version + 1 WHERE table_name = 'nodes';
+
+DROP TRIGGER IF EXISTS campusnav_nodes_delete;
+CREATE TRIGGER campusnav_nodes_delete AFTER DELETE ON nodes FOR EACH ROW
+    UPDATE graph_change_log SET version = version + 1 WHERE table_name = 'nodes';
+
+DROP TRIGGER IF EXISTS campusnav_edges_insert;
+CREATE TRIGGER campusnav_edges_insert AFTER INSERT ON edges FOR EACH ROW
+    UPDATE graph_change_log SET version = version + 1 WHERE table_name = 'edges';
+
+DROP TRIGGER IF EXISTS campusnav_edges_update;
+CREATE TRIGGER campusnav_edges_update AFTER UPDATE ON edges FOR EACH ROW
+    UPDATE graph_change_log SET version = version + 1 WHERE table_name = 'edges';
+
+DROP TRIGGER IF EXISTS campusnav_edges_delete;
+CREATE TRIGGER campusnav_edges_delete AFTER DELETE ON edges FOR EACH ROW
+    UPDATE graph_change_log SET version = version + 1 WHERE table_name = 'edges';
+
+DROP TRIGGER IF EXISTS campusnav_nodes_hill_insert;
+CREATE TRIGGER campusnav_nodes_hill_insert AFTER INSERT ON nodes_hill FOR EACH ROW
+    UPDATE graph_change_log SET version = version + 1 WHERE table_name = 'nodes_hill';
+
+DROP TRIGGER IF EXISTS campusnav_nodes_hill_update;
+CREATE TRIGGER campusnav_nodes_hill_update AFTER UPDATE ON nodes_hill FOR EACH ROW
+    UPDATE graph_change_log SET version = version + 1 WHERE table_name = 'nodes_hill';
+
+DROP TRIGGER IF EXISTS campusnav_nodes_hill_delete;
+CREATE TRIGGER campusnav_nodes_hill_delete AFTER DELETE ON nodes_hill FOR EACH ROW
+    UPDATE graph_change_log SET version = version + 1 WHERE table_name = 'nodes_hill';
+
+DROP TRIGGER IF EXISTS campusnav_edges_hill_insert;
+CREATE TRIGGER campusnav_edges_hill_insert AFTER INSERT ON edges_hill FOR EACH ROW
+    UPDATE graph_change_log SET version = version + 1 WHERE table_name = 'edges_hill';
+
+DROP TRIGGER IF EXISTS campusnav_edges_hill_update;
+CREATE TRIGGER campusnav_edges_hill_update AFTER UPDATE ON edges_hill FOR EACH ROW
+    UPDATE graph_change_log SET version = version + 1 WHERE table_name = 'edges_hill';
+
+DROP TRIGGER IF EXISTS campusnav_edges_hill_delete;
+CREATE TRIGGER campusnav_edges_hill_delete AFTER DELETE ON edges_hill FOR EACH ROW
+    UPDATE graph_change_log SET version = version + 1 WHERE table_name = 'edges_hill';
+
+DROP TRIGGER IF EXISTS campusnav_nodes_outer_insert;
+CREATE TRIGGER campusnav_nodes_outer_insert AFTER INSERT ON nodes_outer FOR EACH ROW
+    UPDATE graph_change_log SET version = version + 1 WHERE table_name = 'nodes_outer';
+
+DROP TRIGGER IF EXISTS campusnav_nodes_outer_update;
+CREATE TRIGGER campusnav_nodes_outer_update AFTER UPDATE ON nodes_outer FOR EACH ROW
+    UPDATE graph_change_log SET version = version + 1 WHERE table_name = 'nodes_outer';
+
+DROP TRIGGER IF EXISTS campusnav_nodes_outer_delete;
+CREATE TRIGGER campusnav_nodes_outer_delete AFTER DELETE ON nodes_outer FOR EACH ROW
+    UPDATE graph_change_log SET version = version + 1 WHERE table_name = 'nodes_outer';
+
+DROP TRIGGER IF EXISTS campusnav_edges_outer_insert;
+CREATE TRIGGER campusnav_edges_outer_insert AFTER INSERT ON edges_outer FOR EACH ROW
+    UPDATE graph_change_log SET version = version + 1 WHERE table_name = 'edges_outer';
+
+DROP TRIGGER IF EXISTS campusnav_edges_outer_update;
+CREATE TRIGGER campusnav_edges_outer_update AFTER UPDATE ON edges_outer FOR EACH ROW
+    UPDATE graph_change_log SET version = version + 1 WHERE table_name = 'edges_outer';
+
+DROP TRIGGER IF EXISTS campusnav_edges_outer_delete;
+CREATE TRIGGER campusnav_edges_outer_delete AFTER DELETE ON edges_outer FOR EACH ROW
+    UPDATE graph_change_log SET version = version + 1 WHERE table_name = 'edges_outer';
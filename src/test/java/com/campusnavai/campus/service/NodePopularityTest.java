@@ -0,0 +1,57 @@
+package com.campusnavai.campus.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NodePopularityTest {
+
+    @Test
+    void ranksMostUsedNodesFirst() {
+        NodePopularity popularity = new NodePopularity();
+        for (int i = 0; i < 3; i++) {
+            popularity.record(7L);
+        }
+        popularity.record(3L);
+        popularity.record(3L);
+        popularity.record(5L);
+
+        assertEquals(List.of(7L, 3L, 5L), popularity.top(10));
+        assertEquals(List.of(7L), popularity.top(1));
+        assertEquals(3, popularity.get(7L));
+        assertEquals(0, popularity.get(9L));
+    }
+
+    @Test
+    void rankingWhileCountsChangeDoesNotFail() throws Exception {
+        NodePopularity popularity = new NodePopularity();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                long seed = t;
+                workers.add(pool.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 50_000; i++) {
+                        popularity.record((long) random.nextInt(2000));
+                        if (i % 50 == 0) {
+                            assertTrue(popularity.top(64).size() <= 64);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.campusnavai.campus.service;
+
+import com.campusnavai.campus.entity.Node;
+import com.campusnavai.campus.entity.WeightedEdge;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NodeSuggestIndexTest {
+
+    private static Map<Node, List<WeightedEdge>> graph(String type, String... names) {
+        Map<Node, List<WeightedEdge>> adjacency = new LinkedHashMap<>();
+        addNodes(adjacency, type, names);
+        return adjacency;
+    }
+
+    private static void addNodes(Map<Node, List<WeightedEdge>> adjacency, String type, String... names) {
+        for (String name : names) {
+            Node node = new Node();
+            node.setNodeId((long) adjacency.size() + 1);
+            node.setName(name);
+            node.setType(type);
+            adjacency.put(node, new ArrayList<>());
+        }
+    }
+
+    private static Node byName(Map<Node, List<WeightedEdge>> adjacency, String name) {
+        return adjacency.keySet().stream().filter(node -> node.getName().equals(name)).findFirst().orElseThrow();
+    }
+
+    @Test
+    void matchesPrefixOfAnyWord() {
+        NodeSuggestIndex index = NodeSuggestIndex.build(
+                graph("building", "Central Library", "Library Annex", "Main Gate", "Chemistry Lab"), new NodePopularity());
+
+        List<String> result = index.suggest("lib", 10);
+
+        assertEquals(2, result.size());
+        assertTrue(result.containsAll(List.of("Central Library", "Library Annex")));
+    }
+
+    @Test
+    void toleratesTyposInLongerWords() {
+        NodeSuggestIndex index = NodeSuggestIndex.build(
+                graph("building", "Central Library", "Canteen"), new NodePopularity());
+
+        assertEquals(List.of("Central Library"), index.suggest("libary", 10));
+        assertEquals(List.of("Canteen"), index.suggest("cantene", 10));
+    }
+
+    @Test
+    void doesNotCorrectShortQueries() {
+        NodeSuggestIndex index = NodeSuggestIndex.build(graph("building", "Canteen", "Library"), new NodePopularity());
+
+        assertEquals(List.of("Canteen"), index.suggest("can", 10));
+        assertTrue(index.suggest("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void matchesEveryQueryWordAgainstWordStarts() {
+        NodeSuggestIndex index = NodeSuggestIndex.build(
+                graph("room", "Computer Lab 1", "Chemistry Lab", "Computer Centre"), new NodePopularity());
+
+        assertEquals(List.of("Computer Lab 1"), index.suggest("comp lab", 10));
+        assertEquals(List.of("Computer Lab 1"), index.suggest("lab 1", 10));
+    }
+
+    @Test
+    void filtersTypoMatchesBeyondTheTopList() {
+        String[] blocks = new String[40];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = "Block " + (char) ('A' + i / 10) + (i % 10 + 1);
+        }
+        NodeSuggestIndex index = NodeSuggestIndex.build(graph("building", blocks), new NodePopularity());
+
+        List<String> result = index.suggest("blok d", 20);
+
+        assertEquals(10, result.size());
+        assertTrue(result.stream().allMatch(name -> name.startsWith("Block D")));
+    }
+
+    @Test
+    void returnsMoreThanOneTopListWhenLimitAllows() {
+        String[] rooms = new String[30];
+        for (int i = 0; i < rooms.length; i++) {
+            rooms[i] = "Room " + (i + 1);
+        }
+        NodeSuggestIndex index = NodeSuggestIndex.build(graph("room", rooms), new NodePopularity());
+
+        assertEquals(30, index.suggest("room", 50).size());
+        assertEquals(5, index.suggest("room", 5).size());
+    }
+
+    @Test
+    void popularNodeOutsideStaticTopListIsSuggested() {
+        String[] halls = new String[200];
+        for (int i = 0; i < halls.length; i++) {
+            halls[i] = "Hall " + (i + 1);
+        }
+        Map<Node, List<WeightedEdge>> adjacency = graph("building", halls);
+        addNodes(adjacency, "room", "Hall Storage Room");
+        NodePopularity popularity = new NodePopularity();
+        NodeSuggestIndex index = NodeSuggestIndex.build(adjacency, popularity);
+        assertFalse(index.suggest("hall", 5).contains("Hall Storage Room"));
+
+        Node storage = byName(adjacency, "Hall Storage Room");
+        for (int i = 0; i < 10; i++) {
+            index.recordSelection(storage);
+        }
+
+        assertEquals("Hall Storage Room", index.suggest("hall", 5).get(0));
+    }
+
+    @Test
+    void popularityCarriesOverToRebuiltIndex() {
+        Map<Node, List<WeightedEdge>> adjacency = graph("building", "North Gate", "North Block");
+        addNodes(adjacency, "room", "North Store");
+        NodePopularity popularity = new NodePopularity();
+        NodeSuggestIndex first = NodeSuggestIndex.build(adjacency, popularity);
+        for (int i = 0; i < 10; i++) {
+            first.recordSelection(byName(adjacency, "North Store"));
+        }
+
+        NodeSuggestIndex rebuilt = NodeSuggestIndex.build(adjacency, popularity);
+
+        assertEquals("North Store", rebuilt.suggest("north", 3).get(0));
+    }
+}
@@ -0,0 +1,205 @@
+package com.campusnavai.campus.service;
+
+import com.campusnavai.campus.entity.Node;
+import com.campusnavai.campus.entity.WeightedEdge;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParetoRouterTest {
+
+    /** Undirected test graph; node i is named "N" + i. */
+    private static final class TestGraph {
+        private final Node[] nodes;
+        private final Map<Node, List<WeightedEdge>> adjacency = new LinkedHashMap<>();
+
+        TestGraph(int size) {
+            nodes = new Node[size];
+            for (int i = 0; i < size; i++) {
+                Node node = new Node();
+                node.setNodeId((long) i);
+                node.setName("N" + i);
+                nodes[i] = node;
+                adjacency.put(node, new ArrayList<>());
+            }
+        }
+
+        TestGraph edge(int from, int to, double distance, double climb) {
+            adjacency.get(nodes[from]).add(new WeightedEdge(nodes[to], distance, climb));
+            adjacency.get(nodes[to]).add(new WeightedEdge(nodes[from], distance, climb));
+            return this;
+        }
+
+        List<double[]> search(int from, int to, int bagSize) {
+            CompactGraph compact = CompactGraph.of(adjacency);
+            ParetoRouter.ParetoResult result = ParetoRouter.search(compact, compact.indexOf(nodes[from]),
+                    compact.indexOf(nodes[to]), bagSize, 1_000_000);
+            assertFalse(result.truncated());
+            List<double[]> front = new ArrayList<>();
+            for (ParetoRouter.ParetoRoute route : result.routes()) {
+                front.add(new double[]{route.distance(), route.climb()});
+            }
+            return front;
+        }
+
+        List<WeightedEdge> edges(int node) {
+            return adjacency.get(nodes[node]);
+        }
+
+        int index(Node node) {
+            return (int) (long) node.getNodeId();
+        }
+    }
+
+    @Test
+    void returnsEveryTradeOffAndDropsDominatedRoutes() {
+        TestGraph graph = new TestGraph(6)
+                .edge(0, 1, 5, 0).edge(1, 5, 5, 0)   // flat, long
+                .edge(0, 2, 2, 2).edge(2, 5, 2, 2)   // short, steep
+                .edge(0, 3, 3, 1).edge(3, 5, 3, 1)   // in between
+                .edge(0, 4, 4, 2).edge(4, 5, 4, 1);  // dominated by the middle route
+
+        List<double[]> front = graph.search(0, 5, 6);
+
+        assertEquals(3, front.size());
+        assertArrayEquals(new double[]{4, 4}, front.get(0));
+        assertArrayEquals(new double[]{6, 2}, front.get(1));
+        assertArrayEquals(new double[]{10, 0}, front.get(2));
+    }
+
+    @Test
+    void fullBagKeepsShortestAndFlattestRoutes() {
+        TestGraph graph = new TestGraph(12);
+        for (int i = 0; i < 10; i++) {
+            graph.edge(0, i + 1, 5, 0).edge(i + 1, 11, 5 + i, 10 - i);
+        }
+
+        List<double[]> front = graph.search(0, 11, 6);
+
+        assertTrue(front.size() <= 6);
+        assertArrayEquals(new double[]{10, 10}, front.get(0));
+        assertArrayEquals(new double[]{19, 1}, front.get(front.size() - 1));
+    }
+
+    @Test
+    void unlimitedBagMatchesBruteForceFront() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            TestGraph graph = randomGraph(random, 8, 14);
+
+            List<double[]> expected = bruteForceFront(graph, 0, 7);
+            List<double[]> actual = graph.search(0, 7, Byte.MAX_VALUE);
+
+            assertEquals(expected.size(), actual.size(), "round " + round);
+            for (int i = 0; i < expected.size(); i++) {
+                assertArrayEquals(expected.get(i), actual.get(i), "round " + round);
+            }
+        }
+    }
+
+    @Test
+    void cappedBagStillFindsShortestAndFlattestRoute() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            TestGraph graph = randomGraph(random, 30, 80);
+            double shortest = dijkstra(graph, 0, 29, true);
+            if (Double.isInfinite(shortest)) {
+                continue;
+            }
+            double flattest = dijkstra(graph, 0, 29, false);
+
+            for (int bagSize = 2; bagSize <= 4; bagSize++) {
+                List<double[]> front = graph.search(0, 29, bagSize);
+                assertEquals(shortest, front.get(0)[0], 1e-9, "round " + round + ", bag " + bagSize);
+                assertEquals(flattest, front.get(front.size() - 1)[1], 1e-9, "round " + round + ", bag " + bagSize);
+            }
+        }
+    }
+
+    @Test
+    void rejectsBagsTooSmallToKeepBothEnds() {
+        CompactGraph compact = CompactGraph.of(new TestGraph(2).edge(0, 1, 1, 0).adjacency);
+        assertThrows(IllegalArgumentException.class, () -> ParetoRouter.search(compact, 0, 1, 1, 100));
+    }
+
+    @Test
+    void rejectsLabelLimitsBelowOne() {
+        CompactGraph compact = CompactGraph.of(new TestGraph(2).edge(0, 1, 1, 0).adjacency);
+        assertThrows(IllegalArgumentException.class, () -> ParetoRouter.search(compact, 0, 1, 6, 0));
+        assertThrows(IllegalArgumentException.class, () -> ParetoRouter.search(compact, 0, 1, 6, -5));
+    }
+
+    private static TestGraph randomGraph(Random random, int size, int edgeCount) {
+        TestGraph graph = new TestGraph(size);
+        for (int i = 0; i < edgeCount; i++) {
+            int from = random.nextInt(size);
+            int to = random.nextInt(size);
+            if (from != to) {
+                graph.edge(from, to, 1 + random.nextInt(9), random.nextInt(6));
+            }
+        }
+        return graph;
+    }
+
+    /** Pareto front over all simple paths, sorted by distance. */
+    private static List<double[]> bruteForceFront(TestGraph graph, int from, int to) {
+        List<double[]> costs = new ArrayList<>();
+        walk(graph, from, to, new boolean[graph.nodes.length], 0, 0, costs);
+        List<double[]> front = new ArrayList<>();
+        for (double[] cost : costs) {
+            boolean dominated = false;
+            for (double[] other : costs) {
+                if (other[0] <= cost[0] && other[1] <= cost[1] && (other[0] < cost[0] || other[1] < cost[1])) {
+                    dominated = true;
+                    break;
+                }
+            }
+            if (!dominated && front.stream().noneMatch(kept -> Arrays.equals(kept, cost))) {
+                front.add(cost);
+            }
+        }
+        front.sort(Comparator.comparingDouble(cost -> cost[0]));
+        return front;
+    }
+
+    private static void walk(TestGraph graph, int node, int to, boolean[] visited, double distance, double climb,
+                             List<double[]> costs) {
+        if (node == to) {
+            costs.add(new double[]{distance, climb});
+            return;
+        }
+        visited[node] = true;
+        for (WeightedEdge edge : graph.edges(node)) {
+            int next = graph.index(edge.getTarget());
+            if (!visited[next]) {
+                walk(graph, next, to, visited, distance + edge.getWeight(), climb + edge.getClimb(), costs);
+            }
+        }
+        visited[node] = false;
+    }
+
+    /** Plain Dijkstra on one criterion, returning the smallest total from {@code from} to {@code to}. */
+    private static double dijkstra(TestGraph graph, int from, int to, boolean byDistance) {
+        double[] best = new double[graph.nodes.length];
+        Arrays.fill(best, Double.POSITIVE_INFINITY);
+        best[from] = 0;
+        PriorityQueue<double[]> queue = new PriorityQueue<>(Comparator.comparingDouble(entry -> entry[0]));
+        queue.add(new double[]{0, from});
+        while (!queue.isEmpty()) {
+            double[] entry = queue.poll();
+            int node = (int) entry[1];
+            if (entry[0] > best[node]) continue;
+            for (WeightedEdge edge : graph.edges(node)) {
+                int next = graph.index(edge.getTarget());
+                double candidate = entry[0] + (byDistance ? edge.getWeight() : edge.getClimb());
+                if (candidate < best[next]) {
+                    best[next] = candidate;
+                    queue.add(new double[]{candidate, next});
+                }
+            }
+        }
+        return best[to];
+    }
+}